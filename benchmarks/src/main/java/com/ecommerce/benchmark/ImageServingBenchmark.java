@@ -0,0 +1,138 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.service.ImageCacheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.UrlResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing one image to a loopback socket the way FileController does: from the
+ * off-heap cache, by FileChannel.transferTo (sendfile where the OS has it), and
+ * through a UrlResource stream as the controller did before.
+ * Bytes per second is ops/s times the size; run with -prof gc (or perfnorm on
+ * Linux) to see allocation and CPU per byte served.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageServingBenchmark {
+
+    @Param({"65536", "1048576"})
+    private int size;
+
+    private Path image;
+    private String cacheKey;
+    private ImageCacheService imageCache;
+
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private Thread drain;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        image = Files.createTempFile("bench-image", ".jpg");
+        Files.write(image, content);
+
+        imageCache = new ImageCacheService();
+        Fields.set(imageCache, "enabled", true);
+        Fields.set(imageCache, "maxBytes", 64L << 20);
+        Fields.set(imageCache, "maxEntryBytes", 2L << 20);
+        imageCache.init();
+        cacheKey = ImageCacheService.key(image.getFileName().toString(), null);
+        // Only images requested more than once are loaded
+        imageCache.get(cacheKey);
+        imageCache.get(cacheKey);
+        if (imageCache.admit(cacheKey, image, size) == null) {
+            throw new IllegalStateException("Image was not admitted to the cache");
+        }
+
+        // The peer reads and discards everything, like a client on a fast link
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel peer = server.accept();
+        drain = new Thread(() -> {
+            ByteBuffer sink = ByteBuffer.allocateDirect(256 * 1024);
+            try (peer) {
+                while (peer.read(sink) >= 0) {
+                    sink.clear();
+                }
+            } catch (IOException ignored) {
+                // closed by tearDown
+            }
+        }, "bench-drain");
+        drain.setDaemon(true);
+        drain.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+        drain.join(1000);
+        imageCache.invalidate(image.getFileName().toString());
+        Files.deleteIfExists(image);
+    }
+
+    @Benchmark
+    public long offHeapCache() throws IOException {
+        ByteBuffer buffer = imageCache.get(cacheKey);
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += client.write(buffer);
+        }
+        return written;
+    }
+
+    @Benchmark
+    public long transferTo() throws IOException {
+        try (FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                long written = channel.transferTo(position, size - position, client);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+            return position;
+        }
+    }
+
+    @Benchmark
+    public long urlResourceStream() throws IOException {
+        try (InputStream in = new UrlResource(image.toUri()).getInputStream()) {
+            return in.transferTo(Channels.newOutputStream(client));
+        }
+    }
+}
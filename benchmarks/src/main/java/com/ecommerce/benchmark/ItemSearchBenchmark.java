@@ -0,0 +1,70 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.model.Item;
+import com.ecommerce.repository.ItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/items/search as ItemController runs it: ItemRepository.searchItems
+ * over a seeded catalog, then the ApiResponse rendered to JSON.
+ * The keywords hit many rows, a single category, and nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    @Param({"5000"})
+    private int catalogSize;
+
+    @Param({"wireless", "garden", "no-such-item"})
+    private String keyword;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        objectMapper = SampleData.objectMapper();
+
+        List<Item> items = SampleData.items(catalogSize, 7);
+        // Let Hibernate assign the ids
+        items.forEach(item -> item.setItemId(null));
+        itemRepository.saveAll(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] search() throws Exception {
+        List<Item> items = itemRepository.searchItems(keyword);
+        return objectMapper.writeValueAsBytes(new ApiResponse(true, "Search completed", items));
+    }
+}
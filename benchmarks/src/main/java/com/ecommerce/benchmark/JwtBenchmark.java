@@ -0,0 +1,79 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.security.JwtKeyRing;
+import com.ecommerce.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification per signing algorithm: the legacy HS256
+ * shared secret against the key ring's ES256 and EdDSA keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private ConfigurableApplicationContext context;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // The key ring is persisted in jwt_signing_keys; verification itself never touches the database
+        context = BenchmarkDatabase.start();
+        JwtKeyRing keyRing = new JwtKeyRing(context.getBean(JdbcTemplate.class),
+                context.getBean(PlatformTransactionManager.class));
+        Fields.set(keyRing, "algorithm", algorithm);
+        Fields.set(keyRing, "expiration", 86_400_000L);
+        Fields.set(keyRing, "rotationInterval", 86_400_000L);
+        Fields.set(keyRing, "encryptionSecret", "benchmark-key-encryption-secret");
+        keyRing.init();
+
+        jwtUtil = new JwtUtil(keyRing);
+        Fields.set(jwtUtil, "secret", "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256");
+        Fields.set(jwtUtil, "expiration", 86_400_000L);
+        jwtUtil.init();
+
+        token = jwtUtil.generateToken("user@shopverse.test", "USER");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("user@shopverse.test", "USER");
+    }
+
+    // What JwtAuthenticationFilter does per request: username, role, then validation
+    @Benchmark
+    public boolean verify() {
+        String username = jwtUtil.extractUsername(token);
+        return jwtUtil.extractRole(token) != null && jwtUtil.validateToken(token, username);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.exception.GlobalExceptionHandler;
+import com.ecommerce.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A lookup of a missing id, thrown from callDepth frames down (Tomcat, the filter
+ * chain and Spring MVC put well over a hundred frames under a controller).
+ * Legacy is what controllers did before: a RuntimeException caught and logged with
+ * its stack trace, whose rendering is done here into a discarding writer.
+ * Current is the stackless NotFoundException handled by GlobalExceptionHandler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    @Param({"20", "150"})
+    private int callDepth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final PrintWriter discard = new PrintWriter(Writer.nullWriter());
+
+    @Benchmark
+    public ResponseEntity<ApiResponse> legacy() {
+        try {
+            lookup(callDepth, false);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            e.printStackTrace(discard);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse> stackless() {
+        try {
+            lookup(callDepth, true);
+            return ResponseEntity.ok().build();
+        } catch (NotFoundException e) {
+            return handler.handleDomainException(e);
+        }
+    }
+
+    private static void lookup(int depth, boolean stackless) {
+        if (depth > 0) {
+            lookup(depth - 1, stackless);
+            return;
+        }
+        if (stackless) {
+            throw new NotFoundException("Item not found");
+        }
+        throw new RuntimeException("Item not found");
+    }
+}
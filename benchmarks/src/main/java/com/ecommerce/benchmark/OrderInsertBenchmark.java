@@ -0,0 +1,167 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.model.Order;
+import com.ecommerce.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting rows orders, committed every chunk rows as a bulk import would.
+ * pooledIds goes through OrderRepository (table-allocated ids, JDBC batches of
+ * hibernate.jdbc.batch_size). identityPerRow is what IDENTITY generation forced:
+ * one INSERT per row, each reading back its generated key.
+ * Rows per second is rows divided by the reported time. In-memory H2 has no
+ * network round trip, so run against MySQL (see application-bench.properties)
+ * to see the full gap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    private static final String IDENTITY_TABLE = "bench_orders_identity";
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int chunk;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        orderRepository = context.getBean(OrderRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        // Same columns as orders, with the id generated by the database as before
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + IDENTITY_TABLE + " ("
+                + "order_id BIGINT NOT NULL AUTO_INCREMENT, item_id BINARY(16), item_name VARCHAR(255), "
+                + "total DECIMAL(38, 2), payment_by VARCHAR(255), payment_id VARCHAR(255), "
+                + "order_status VARCHAR(255), created_at DATETIME(6), PRIMARY KEY (order_id))");
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("DELETE FROM orders");
+        jdbcTemplate.execute("DELETE FROM " + IDENTITY_TABLE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        context.close();
+    }
+
+    @Benchmark
+    public int pooledIds() {
+        int inserted = 0;
+        while (inserted < rows) {
+            int from = inserted;
+            int to = Math.min(rows, from + chunk);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Order> orders = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    orders.add(order(i));
+                }
+                orderRepository.saveAll(orders);
+            });
+            inserted = to;
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public long identityPerRow() {
+        String sql = "INSERT INTO " + IDENTITY_TABLE
+                + " (item_id, item_name, total, payment_by, payment_id, order_status, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long lastId = 0;
+        int inserted = 0;
+        while (inserted < rows) {
+            int from = inserted;
+            int to = Math.min(rows, from + chunk);
+            lastId = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                    (ConnectionCallback<Long>) connection -> {
+                        long id = 0;
+                        try (PreparedStatement insert = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                            for (int i = from; i < to; i++) {
+                                Order order = order(i);
+                                insert.setBytes(1, bytes(order.getItemId()));
+                                insert.setString(2, order.getItemName());
+                                insert.setBigDecimal(3, order.getTotal());
+                                insert.setString(4, order.getPaymentBy());
+                                insert.setString(5, order.getPaymentId());
+                                insert.setString(6, order.getOrderStatus());
+                                insert.setTimestamp(7, new Timestamp(System.currentTimeMillis()));
+                                insert.executeUpdate();
+                                try (ResultSet keys = insert.getGeneratedKeys()) {
+                                    keys.next();
+                                    id = keys.getLong(1);
+                                }
+                            }
+                        }
+                        return id;
+                    }));
+            inserted = to;
+        }
+        return lastId;
+    }
+
+    private static Order order(int i) {
+        Order order = new Order();
+        order.setItemId(new UUID(i, i * 31L));
+        order.setItemName("Item " + (i % 500));
+        order.setTotal(BigDecimal.valueOf(1000 + i % 9000, 2));
+        order.setPaymentBy("user" + (i % 2000) + "@shopverse.test");
+        order.setPaymentId("pay_" + Integer.toHexString(i));
+        order.setOrderStatus("PAID");
+        return order;
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        byte[] bytes = new byte[16];
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (msb >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (lsb >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.util.OtpUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP generation alone and with eight threads sharing OtpUtil's SecureRandom,
+ * as during a signup or password-reset burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OtpBenchmark {
+
+    private final OtpUtil otpUtil = new OtpUtil();
+
+    @Benchmark
+    @Threads(1)
+    public String generateOtp() {
+        return otpUtil.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateOtpContended() {
+        return otpUtil.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateNumericOtpContended() {
+        return otpUtil.generateNumericOtp(6);
+    }
+}
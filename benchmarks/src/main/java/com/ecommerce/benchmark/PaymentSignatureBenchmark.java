@@ -0,0 +1,66 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Razorpay payment signature checks (HMAC-SHA256 over order and payment ids),
+ * for a genuine and a forged signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentSignatureBenchmark {
+
+    private static final String SECRET = "benchmark_razorpay_secret";
+    private static final String ORDER_ID = "order_NQ8d7rJ2nK1sLm";
+    private static final String PAYMENT_ID = "pay_NQ8eF4xYb9TqWz";
+
+    private OrderService orderService;
+    private String signature;
+    private String forged;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Signature checks only use the key secret; the repository and Razorpay client are never touched
+        orderService = new OrderService(null, null, null, null);
+        Fields.set(orderService, "razorpayKeySecret", SECRET);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        signature = HexFormat.of().formatHex(mac.doFinal((ORDER_ID + "|" + PAYMENT_ID).getBytes(StandardCharsets.UTF_8)));
+        forged = new StringBuilder(signature).reverse().toString();
+
+        if (!orderService.verifyPaymentSignature(ORDER_ID, PAYMENT_ID, signature)) {
+            throw new IllegalStateException("Reference signature was rejected");
+        }
+    }
+
+    @Benchmark
+    public boolean verifyValid() {
+        return orderService.verifyPaymentSignature(ORDER_ID, PAYMENT_ID, signature);
+    }
+
+    @Benchmark
+    public boolean verifyForged() {
+        return orderService.verifyPaymentSignature(ORDER_ID, PAYMENT_ID, forged);
+    }
+}
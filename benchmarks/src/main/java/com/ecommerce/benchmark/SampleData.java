@@ -0,0 +1,57 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.model.Item;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Deterministic catalog rows shared by the serialization and search suites
+final class SampleData {
+
+    static final String[] CATEGORIES = {"Electronics", "Books", "Clothing", "Home", "Sports", "Toys", "Beauty", "Garden"};
+    private static final String[] ADJECTIVES = {"Classic", "Wireless", "Organic", "Compact", "Premium", "Vintage", "Smart", "Portable"};
+    private static final String[] NOUNS = {"Headphones", "Notebook", "Jacket", "Lamp", "Bottle", "Backpack", "Speaker", "Chair"};
+
+    private SampleData() {
+    }
+
+    // Configured like Boot's auto-configured mapper: java.time support, ISO dates
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static List<Item> items(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setItemId(new UUID(random.nextLong(), random.nextLong()));
+            item.setItemName(pick(ADJECTIVES, random) + " " + pick(NOUNS, random) + " " + i);
+            item.setDescription("A " + pick(ADJECTIVES, random).toLowerCase() + " "
+                    + pick(NOUNS, random).toLowerCase() + " for everyday use. ".repeat(1 + random.nextInt(4)));
+            item.setItemCost(BigDecimal.valueOf(100 + random.nextInt(99_900), 2));
+            item.setItemQuantity(random.nextInt(500));
+            item.setItemCategory(pick(CATEGORIES, random));
+            item.setAddedBy("admin" + random.nextInt(40) + "@shopverse.test");
+            item.setImgname(Long.toHexString(random.nextLong()) + ".jpg");
+            item.setCreatedAt(created.plusMinutes(i));
+            item.setUpdatedAt(created.plusMinutes(i));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
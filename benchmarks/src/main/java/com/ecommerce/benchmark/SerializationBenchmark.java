@@ -0,0 +1,58 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.model.Item;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the ApiResponse envelope around a single Item and
+ * around catalog pages of various sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse single;
+    private ApiResponse page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = SampleData.objectMapper();
+        List<Item> catalog = SampleData.items(items, 42);
+        single = new ApiResponse(true, "Item fetched successfully", catalog.get(0));
+        page = new ApiResponse(true, "Items fetched successfully", catalog);
+    }
+
+    @Benchmark
+    public byte[] item() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] itemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
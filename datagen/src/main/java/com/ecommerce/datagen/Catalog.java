@@ -0,0 +1,209 @@
+package com.ecommerce.datagen;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Every generated row as a pure function of (seed, table, row number): rows can be
+ * written in any order by any number of threads and still come out identical, and
+ * an order can look up its item's name and price without keeping the catalogue in
+ * memory.
+ */
+final class Catalog {
+
+    static final String DOMAIN = "datagen.local";
+
+    static final String[] CATEGORIES = {"Electronics", "Clothing", "Home", "Books", "Beauty", "Sports", "Toys",
+            "Grocery", "Garden", "Automotive", "Jewellery", "Music"};
+    private static final String[] ADJECTIVES = {"Wireless", "Organic", "Compact", "Premium", "Vintage", "Smart",
+            "Portable", "Classic", "Ergonomic", "Handmade", "Waterproof", "Foldable"};
+    private static final String[] NOUNS = {"Headphones", "Notebook", "Jacket", "Lamp", "Bottle", "Backpack",
+            "Speaker", "Chair", "Watch", "Kettle", "Blender", "Sneakers", "Mat", "Charger", "Sofa", "Camera"};
+    private static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Kolkata",
+            "Pune", "Jaipur"};
+    private static final String[] REVIEWS = {
+            "Stopped working after a week.",
+            "Not as described, would not buy again.",
+            "Does the job, nothing special.",
+            "Good value for the price.",
+            "Excellent quality, exactly what I needed."};
+    // Ratings 1..5, skewed positive as on most storefronts
+    private static final int[] RATING_WEIGHTS = {6, 5, 10, 29, 50};
+    private static final int ADMINS = 10;
+
+    private static final long ITEM = 1, USER = 2, ORDER = 3, REVIEW = 4;
+
+    private final GeneratorConfig config;
+    private final String passwordHash;
+    private final LocalDateTime until;
+    private final long windowSeconds;
+    private final ZipfSampler categories;
+    private final ZipfSampler popularItems;
+    private final ZipfSampler reviewedItems;
+    private final ZipfSampler buyers;
+    // Spread popularity ranks over the id space so the best sellers are not simply the oldest items
+    private final long itemStride;
+    private final long userStride;
+
+    Catalog(GeneratorConfig config, String passwordHash) {
+        this.config = config;
+        this.passwordHash = passwordHash;
+        this.until = config.until.atStartOfDay();
+        this.windowSeconds = config.days * 86_400L;
+        this.categories = new ZipfSampler(CATEGORIES.length, 0.8);
+        this.popularItems = new ZipfSampler(config.items, config.itemSkew);
+        this.reviewedItems = new ZipfSampler(config.items, config.reviewSkew);
+        this.buyers = new ZipfSampler(config.users, config.buyerSkew);
+        this.itemStride = coprimeStride(config.items);
+        this.userStride = coprimeStride(config.users);
+    }
+
+    record ItemRow(UUID id, String name, String description, BigDecimal cost, int quantity, String category,
+                   String addedBy, LocalDateTime createdAt) {
+    }
+
+    ItemRow item(long i) {
+        SplittableRandom random = random(ITEM, i);
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun + " " + Long.toString(i, 36).toUpperCase();
+        // Log-normal prices: mostly a few hundred rupees, a long tail into the tens of thousands
+        long paise = Math.max(4_900, Math.round(Math.exp(10.3 + 1.1 * random.nextGaussian())));
+        return new ItemRow(uuid(random), name,
+                "A " + noun.toLowerCase() + " for everyday use. Generated item #" + i + ".",
+                BigDecimal.valueOf(paise, 2),
+                random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(500),
+                CATEGORIES[categories.sample(random) - 1],
+                "admin" + random.nextInt(ADMINS) + "@" + DOMAIN,
+                before(until, windowSeconds, random));
+    }
+
+    static String userEmail(long i) {
+        return "user" + i + "@" + DOMAIN;
+    }
+
+    void bindItem(PreparedStatement statement, long i) throws SQLException {
+        ItemRow item = item(i);
+        statement.setBytes(1, bytes(item.id()));
+        statement.setString(2, item.name());
+        statement.setString(3, item.description());
+        statement.setBigDecimal(4, item.cost());
+        statement.setInt(5, item.quantity());
+        statement.setString(6, item.category());
+        statement.setString(7, item.addedBy());
+        // No image files exist for generated items
+        statement.setNull(8, Types.VARCHAR);
+        statement.setTimestamp(9, Timestamp.valueOf(item.createdAt()));
+        statement.setTimestamp(10, Timestamp.valueOf(item.createdAt()));
+    }
+
+    void bindUser(PreparedStatement statement, long i) throws SQLException {
+        SplittableRandom random = random(USER, i);
+        LocalDateTime createdAt = before(until, windowSeconds, random);
+        statement.setBytes(1, bytes(uuid(random)));
+        statement.setString(2, "user" + i);
+        statement.setString(3, userEmail(i));
+        statement.setString(4, passwordHash);
+        statement.setString(5, (1 + random.nextInt(999)) + " Market Road, " + CITIES[random.nextInt(CITIES.length)]);
+        statement.setString(6, random.nextBoolean() ? "F" : "M");
+        statement.setTimestamp(7, Timestamp.valueOf(createdAt));
+        statement.setTimestamp(8, Timestamp.valueOf(createdAt));
+    }
+
+    // Popular items take most orders and a few heavy buyers place many of them
+    void bindOrder(PreparedStatement statement, long i) throws SQLException {
+        SplittableRandom random = random(ORDER, i);
+        ItemRow item = item(scatter(popularItems.sample(random), config.items, itemStride));
+        long buyer = scatter(buyers.sample(random), config.users, userStride);
+        int quantity = random.nextInt(8) == 0 ? 2 + random.nextInt(3) : 1;
+        statement.setLong(1, i + 1);
+        statement.setBytes(2, bytes(item.id()));
+        statement.setString(3, item.name());
+        statement.setBigDecimal(4, item.cost().multiply(BigDecimal.valueOf(quantity)));
+        statement.setString(5, userEmail(buyer));
+        statement.setString(6, "pay_" + HexFormat.of().toHexDigits(random.nextLong()).substring(2).toUpperCase());
+        statement.setString(7, "COMPLETED");
+        statement.setTimestamp(8, Timestamp.valueOf(after(item.createdAt(), random)));
+    }
+
+    void bindReview(PreparedStatement statement, long i) throws SQLException {
+        SplittableRandom random = random(REVIEW, i);
+        ItemRow item = item(scatter(reviewedItems.sample(random), config.items, itemStride));
+        int rating = rating(random);
+        statement.setLong(1, i + 1);
+        statement.setString(2, REVIEWS[rating - 1]);
+        statement.setBytes(3, bytes(item.id()));
+        statement.setString(4, userEmail(scatter(buyers.sample(random), config.users, userStride)));
+        statement.setInt(5, rating);
+        statement.setTimestamp(6, Timestamp.valueOf(after(item.createdAt(), random)));
+    }
+
+    private SplittableRandom random(long table, long i) {
+        return new SplittableRandom(mix(config.seed * 0x9E3779B97F4A7C15L + table * 0xC2B2AE3D27D4EB4FL + i));
+    }
+
+    private static int rating(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (int r = 0; r < RATING_WEIGHTS.length; r++) {
+            roll -= RATING_WEIGHTS[r];
+            if (roll < 0) {
+                return r + 1;
+            }
+        }
+        return RATING_WEIGHTS.length;
+    }
+
+    private static LocalDateTime before(LocalDateTime end, long windowSeconds, SplittableRandom random) {
+        return end.minusSeconds(random.nextLong(windowSeconds));
+    }
+
+    // Somewhere between the start time and the end of the window
+    private LocalDateTime after(LocalDateTime start, SplittableRandom random) {
+        long remaining = Duration.between(start, until).toSeconds();
+        return remaining > 0 ? start.plusSeconds(random.nextLong(remaining)) : start;
+    }
+
+    // Random (version 4) UUID, as Hibernate's GenerationType.UUID would assign
+    private static UUID uuid(SplittableRandom random) {
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    // BINARY(16) layout used by Hibernate for UUID columns
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    // Rank 1..n to a row number 0..n-1, a bijection since the stride is coprime to n
+    private static long scatter(int rank, int n, long stride) {
+        return (rank - 1) * stride % n;
+    }
+
+    private static long coprimeStride(int n) {
+        long stride = (long) (n * 0.6180339887) | 1;
+        while (gcd(stride, n) != 1) {
+            stride += 2;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,207 @@
+package com.ecommerce.datagen;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the synthetic dataset described by {@link Catalog} into a database migrated
+ * to the application's schema. Each table is cut into chunks that writer threads
+ * insert as JDBC batches, one transaction per chunk; on MySQL the driver rewrites
+ * each batch into multi-row INSERTs. See datagen/pom.xml for how to run it.
+ */
+public final class DatasetGenerator {
+
+    // Every generated user logs in with this password
+    static final String PASSWORD = "Datagen@123";
+
+    private static final String[] TABLES = {"reviews", "orders", "users", "items"};
+    // Must match allocationSize on the entities' @TableGenerator, as in IdGeneratorAligner
+    private static final int ALLOCATION_SIZE = 50;
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, long row) throws SQLException;
+    }
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneratorConfig config = GeneratorConfig.parse(args);
+        System.out.println("Dataset: " + config);
+
+        try (HikariDataSource dataSource = dataSource(config)) {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            clear(jdbc, config.truncate);
+
+            Catalog catalog = new Catalog(config, passwordHash(config.seed));
+            ExecutorService writers = Executors.newFixedThreadPool(config.threads);
+            long start = System.nanoTime();
+            try {
+                load(writers, dataSource, config, "items", config.items, catalog::bindItem,
+                        "INSERT INTO items (itemid, item_name, description, item_cost, item_quantity, item_category, "
+                                + "added_by, imgname, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                load(writers, dataSource, config, "users", config.users, catalog::bindUser,
+                        "INSERT INTO users (user_id, username, useremail, password, address, gender, created_at, "
+                                + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+                load(writers, dataSource, config, "orders", config.orders, catalog::bindOrder,
+                        "INSERT INTO orders (order_id, item_id, item_name, total, payment_by, payment_id, "
+                                + "order_status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+                load(writers, dataSource, config, "reviews", config.reviews, catalog::bindReview,
+                        "INSERT INTO reviews (review_id, review_text, itemid, added_by, rating, created_at) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)");
+            } finally {
+                writers.shutdownNow();
+            }
+            long rows = (long) config.items + config.users + config.orders + config.reviews;
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Loaded %,d rows in %.1f s (%,.0f rows/s)%n", rows, seconds, rows / seconds);
+
+            alignIdGenerator(jdbc, "orders", config.orders);
+            alignIdGenerator(jdbc, "reviews", config.reviews);
+            analyze(jdbc);
+            printSkew(jdbc);
+            System.out.println("Users log in as user<n>@" + Catalog.DOMAIN + " with password " + PASSWORD);
+        }
+    }
+
+    private static HikariDataSource dataSource(GeneratorConfig config) {
+        HikariConfig hikari = new HikariConfig();
+        String url = config.url;
+        // Without it MySQL Connector/J sends a batch as one round trip per row
+        if (url.startsWith("jdbc:mysql:") && !url.contains("rewriteBatchedStatements")) {
+            url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        }
+        hikari.setJdbcUrl(url);
+        hikari.setUsername(config.user);
+        hikari.setPassword(config.password);
+        hikari.setMaximumPoolSize(config.threads + 1);
+        hikari.setPoolName("datagen");
+        return new HikariDataSource(hikari);
+    }
+
+    // One hash for every user, since BCrypt at 10 rounds per row would take longer than the whole load.
+    // The salt comes from the seed too, so reruns produce identical rows.
+    private static String passwordHash(long seed) throws Exception {
+        SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+        random.setSeed(seed);
+        return BCrypt.hashpw(PASSWORD, BCrypt.gensalt(10, random));
+    }
+
+    // Generated ids and emails start from 1 and 0, so they would collide with existing rows
+    private static void clear(JdbcTemplate jdbc, boolean truncate) {
+        for (String table : TABLES) {
+            Long count = jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (count == null || count == 0) {
+                continue;
+            }
+            if (!truncate) {
+                throw new IllegalStateException(table + " already has " + count
+                        + " rows; point url at an empty database or pass truncate=true");
+            }
+            jdbc.execute("TRUNCATE TABLE " + table);
+            System.out.println("Truncated " + table + " (" + count + " rows)");
+        }
+    }
+
+    private static void load(ExecutorService writers, DataSource dataSource, GeneratorConfig config, String table,
+                             int rows, RowBinder binder, String sql) throws Exception {
+        long start = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+        long reportEvery = Math.max(config.chunk, rows / 10);
+        List<Future<?>> chunks = new ArrayList<>();
+        for (long from = 0; from < rows; from += config.chunk) {
+            long first = from;
+            long last = Math.min(rows, from + config.chunk);
+            chunks.add(writers.submit(() -> {
+                insert(dataSource, sql, binder, first, last, config.batch);
+                long total = written.addAndGet(last - first);
+                if (total / reportEvery != (total - (last - first)) / reportEvery && total < rows) {
+                    System.out.printf("  %s: %,d / %,d%n", table, total, rows);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> chunk : chunks) {
+            chunk.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-8s %,12d rows in %6.1f s (%,.0f rows/s)%n", table, rows, seconds, rows / seconds);
+    }
+
+    private static void insert(DataSource dataSource, String sql, RowBinder binder, long first, long last,
+                               int batch) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (long row = first; row < last; row++) {
+                binder.bind(statement, row);
+                statement.addBatch();
+                if ((row - first + 1) % batch == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    // Same floor IdGeneratorAligner sets on startup, so tools that skip it (benchmarks) can insert too
+    private static void alignIdGenerator(JdbcTemplate jdbc, String table, long maxId) {
+        if (maxId == 0) {
+            return;
+        }
+        long floor = maxId + ALLOCATION_SIZE + 1;
+        int updated = jdbc.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val <= ?",
+                floor, table, maxId);
+        if (updated == 0 && jdbc.queryForList("SELECT next_val FROM id_generators WHERE sequence_name = ?",
+                Long.class, table).isEmpty()) {
+            jdbc.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", table, floor);
+        }
+    }
+
+    // Fresh index statistics, so query plans reflect the new volumes right away
+    private static void analyze(JdbcTemplate jdbc) {
+        String product = jdbc.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equals(product)) {
+            jdbc.execute("ANALYZE TABLE items, users, orders, reviews");
+        } else if ("H2".equals(product)) {
+            jdbc.execute("ANALYZE");
+        }
+    }
+
+    private static void printSkew(JdbcTemplate jdbc) {
+        Long orders = jdbc.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+        if (orders == null || orders == 0) {
+            return;
+        }
+        Long topItem = jdbc.queryForObject(
+                "SELECT MAX(c) FROM (SELECT COUNT(*) AS c FROM orders GROUP BY item_id) t", Long.class);
+        Long topBuyer = jdbc.queryForObject(
+                "SELECT MAX(c) FROM (SELECT COUNT(*) AS c FROM orders GROUP BY payment_by) t", Long.class);
+        Long buyers = jdbc.queryForObject("SELECT COUNT(DISTINCT payment_by) FROM orders", Long.class);
+        System.out.printf("Best-selling item: %,d orders (%.2f%%); busiest buyer: %,d orders; %,d users have ordered%n",
+                topItem, 100.0 * topItem / orders, topBuyer, buyers);
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.datagen;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generator settings, parsed from key=value arguments, e.g.
+ * "url=jdbc:mysql://localhost:3306/ecommerce_perf orders=20000000 truncate=true".
+ */
+final class GeneratorConfig {
+
+    static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/ecommerce?createDatabaseIfNotExist=true"
+            + "&useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true";
+
+    final String url;
+    final String user;
+    final String password;
+    final long seed;
+
+    // Row counts; the defaults add up to 10M
+    final int items;
+    final int users;
+    final int orders;
+    final int reviews;
+
+    // Zipf exponents: how strongly orders concentrate on popular items and on heavy buyers,
+    // and reviews on popular items. 0 is uniform; around 1 is typical of real catalogues.
+    final double itemSkew;
+    final double buyerSkew;
+    final double reviewSkew;
+
+    // Rows are dated over the days before this date, so reruns on another day give the same data
+    final LocalDate until;
+    final int days;
+
+    final int threads;
+    final int batch;
+    // Rows per transaction and per unit of work handed to a writer thread
+    final int chunk;
+    final boolean truncate;
+
+    private GeneratorConfig(Map<String, String> values) {
+        url = values.getOrDefault("url", DEFAULT_URL);
+        user = values.getOrDefault("user", "root");
+        password = values.getOrDefault("password", "admin");
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        items = Integer.parseInt(values.getOrDefault("items", "1000000"));
+        users = Integer.parseInt(values.getOrDefault("users", "500000"));
+        orders = Integer.parseInt(values.getOrDefault("orders", "6000000"));
+        reviews = Integer.parseInt(values.getOrDefault("reviews", "2500000"));
+        itemSkew = Double.parseDouble(values.getOrDefault("item-skew", "1.0"));
+        buyerSkew = Double.parseDouble(values.getOrDefault("buyer-skew", "0.6"));
+        reviewSkew = Double.parseDouble(values.getOrDefault("review-skew", "0.9"));
+        until = LocalDate.parse(values.getOrDefault("until", "2026-01-01"));
+        days = Integer.parseInt(values.getOrDefault("days", "730"));
+        threads = Integer.parseInt(values.getOrDefault("threads", "4"));
+        batch = Integer.parseInt(values.getOrDefault("batch", "1000"));
+        chunk = Integer.parseInt(values.getOrDefault("chunk", "20000"));
+        truncate = Boolean.parseBoolean(values.getOrDefault("truncate", "false"));
+        if (items < 1 || users < 1) {
+            throw new IllegalArgumentException("items and users must be at least 1");
+        }
+    }
+
+    static GeneratorConfig parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return new GeneratorConfig(values);
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + " items=" + items + " users=" + users + " orders=" + orders + " reviews=" + reviews
+                + " item-skew=" + itemSkew + " buyer-skew=" + buyerSkew + " review-skew=" + reviewSkew
+                + " until=" + until + " days=" + days + " threads=" + threads + " batch=" + batch;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.model.Item;
+import com.ecommerce.model.Review;
+import com.ecommerce.model.User;
+import com.ecommerce.repository.ItemRepository;
+import com.ecommerce.repository.ReviewRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.util.JwtUtil;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Fills the database with items, users and reviews through the application's
+ * own repositories before any load is applied.
+ */
+final class DataSeeder {
+
+    static final String PASSWORD = "LoadTest@123";
+    static final String[] CATEGORIES = {"Electronics", "Books", "Clothing", "Home", "Sports", "Toys", "Beauty", "Garden"};
+    static final String[] KEYWORDS = {"wireless", "organic", "compact", "premium", "vintage", "smart", "lamp", "jacket"};
+
+    private static final String[] ADJECTIVES = {"Wireless", "Organic", "Compact", "Premium", "Vintage", "Smart", "Portable", "Classic"};
+    private static final String[] NOUNS = {"Headphones", "Notebook", "Jacket", "Lamp", "Bottle", "Backpack", "Speaker", "Chair"};
+    private static final int CHUNK = 1000;
+
+    // tokens: a signed-in session per seeded user, for journeys that should not pay for a login
+    record SeededData(List<Item> items, List<String> userEmails, Map<String, String> tokens) {
+    }
+
+    private DataSeeder() {
+    }
+
+    static SeededData seed(ApplicationContext context, LoadTestConfig config) {
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ReviewRepository reviewRepository = context.getBean(ReviewRepository.class);
+        Random random = new Random(config.seed);
+
+        List<Item> items = new ArrayList<>(config.items);
+        List<Item> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < config.items; i++) {
+            chunk.add(item(i, random));
+            if (chunk.size() == CHUNK || i == config.items - 1) {
+                items.addAll(itemRepository.saveAll(chunk));
+                chunk.clear();
+            }
+        }
+
+        // One hash for every seeded user: BCrypt at 10 rounds would otherwise dominate seeding
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<String> emails = new ArrayList<>(config.users);
+        List<User> users = new ArrayList<>(CHUNK);
+        for (int i = 0; i < config.users; i++) {
+            User user = new User();
+            user.setUsername("shopper" + i);
+            user.setUseremail("shopper" + i + "@loadtest.local");
+            user.setPassword(hash);
+            user.setAddress(i + " Load Test Lane");
+            user.setGender(i % 2 == 0 ? "F" : "M");
+            users.add(user);
+            emails.add(user.getUseremail());
+            if (users.size() == CHUNK || i == config.users - 1) {
+                userRepository.saveAll(users);
+                users.clear();
+            }
+        }
+
+        List<Review> reviews = new ArrayList<>(CHUNK);
+        for (Item item : items) {
+            for (int r = 0; r < config.reviewsPerItem && !emails.isEmpty(); r++) {
+                Review review = new Review();
+                review.setItemId(item.getItemId());
+                review.setAddedBy(emails.get(random.nextInt(emails.size())));
+                review.setRating(1 + random.nextInt(5));
+                review.setReviewText("Seeded review " + r + " for " + item.getItemName());
+                reviews.add(review);
+                if (reviews.size() == CHUNK) {
+                    reviewRepository.saveAll(reviews);
+                    reviews.clear();
+                }
+            }
+        }
+        reviewRepository.saveAll(reviews);
+
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        Map<String, String> tokens = new HashMap<>();
+        emails.forEach(email -> tokens.put(email, jwtUtil.generateToken(email, "USER")));
+
+        return new SeededData(List.copyOf(items), List.copyOf(emails), Map.copyOf(tokens));
+    }
+
+    private static Item item(int i, Random random) {
+        Item item = new Item();
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        item.setItemName(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun + " " + i);
+        item.setDescription("A " + noun.toLowerCase() + " for everyday use.");
+        item.setItemCost(BigDecimal.valueOf(100 + random.nextInt(99_900), 2));
+        item.setItemQuantity(10 + random.nextInt(490));
+        item.setItemCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        item.setAddedBy("admin@loadtest.local");
+        return item;
+    }
+}
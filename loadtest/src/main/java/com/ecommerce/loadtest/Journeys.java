@@ -0,0 +1,236 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.model.Item;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The scripted user journeys, each a sequence of API calls as the storefront
+ * makes them. Every call is timed under its route template.
+ */
+final class Journeys {
+
+    private static final Duration OTP_TIMEOUT = Duration.ofSeconds(15);
+
+    private final HttpClient http;
+    private final Duration requestTimeout;
+    private final String baseUrl;
+    private final ObjectMapper json = new ObjectMapper();
+    private final LatencyReport report;
+    private final SmtpSink smtp;
+    private final DataSeeder.SeededData data;
+    private final String razorpaySecret;
+    private final AtomicLong registrations = new AtomicLong();
+
+    Journeys(String baseUrl, Duration requestTimeout, LatencyReport report, SmtpSink smtp, DataSeeder.SeededData data,
+             String razorpaySecret) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.report = report;
+        this.smtp = smtp;
+        this.data = data;
+        this.razorpaySecret = razorpaySecret;
+    }
+
+    void run(String name, SplittableRandom random) throws Exception {
+        switch (name) {
+            case "browse" -> browse(random);
+            case "search" -> search(random);
+            case "register" -> register(random);
+            case "purchase" -> purchase(random);
+            case "review" -> review(random);
+            case "checkout" -> checkout(random);
+            default -> throw new IllegalArgumentException("Unknown journey: " + name);
+        }
+    }
+
+    // Home page, a category, then one product with its reviews
+    private void browse(SplittableRandom random) throws Exception {
+        get("GET /api/items/all", "/api/items/all", null);
+        String category = DataSeeder.CATEGORIES[random.nextInt(DataSeeder.CATEGORIES.length)];
+        get("GET /api/items/category/{category}", "/api/items/category/" + category, null);
+        Item item = randomItem(random);
+        get("GET /api/items/{id}", "/api/items/" + item.getItemId(), null);
+        get("GET /api/reviews/item/{itemId}", "/api/reviews/item/" + item.getItemId(), null);
+    }
+
+    private void search(SplittableRandom random) throws Exception {
+        String keyword = DataSeeder.KEYWORDS[random.nextInt(DataSeeder.KEYWORDS.length)];
+        get("GET /api/items/search", "/api/items/search?keyword=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8), null);
+        get("GET /api/items/{id}", "/api/items/" + randomItem(random).getItemId(), null);
+    }
+
+    // Sign up, read the OTP from the mail the application sent, verify it, log in
+    private void register(SplittableRandom random) throws Exception {
+        String email = "new" + registrations.incrementAndGet() + "-" + Long.toHexString(random.nextLong()) + "@loadtest.local";
+        Map<String, Object> signup = new LinkedHashMap<>();
+        signup.put("username", "newshopper" + registrations.get());
+        signup.put("email", email);
+        signup.put("password", DataSeeder.PASSWORD);
+        signup.put("address", "1 Signup Street");
+        signup.put("phone", "9000000000");
+        signup.put("gender", "F");
+        post("POST /api/user/register", "/api/user/register", signup, null, true);
+
+        long start = System.nanoTime();
+        Optional<String> otp = smtp.awaitOtp(email, OTP_TIMEOUT);
+        report.request("OTP mail delivery", System.nanoTime() - start, otp.isPresent(), "no OTP mail");
+        if (otp.isEmpty()) {
+            throw new IllegalStateException("No OTP mail for " + email);
+        }
+
+        post("POST /api/user/verify-otp", "/api/user/verify-otp", Map.of("email", email, "otp", otp.get()), null, true);
+        login(email);
+    }
+
+    // Log in, pay for an item through Razorpay, then look at the order list
+    private void purchase(SplittableRandom random) throws Exception {
+        String token = login(randomUser(random));
+        Item item = randomItem(random);
+
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("itemId", item.getItemId().toString());
+        order.put("itemName", item.getItemName());
+        order.put("total", item.getItemCost());
+        order.put("quantity", 1);
+        JsonNode created = post("POST /api/orders/create", "/api/orders/create", order, token, true);
+        String orderId = created.path("data").path("id").asText();
+
+        // What the Razorpay checkout returns to the browser after a successful payment
+        String paymentId = "pay_lt" + Long.toHexString(random.nextLong());
+        order.put("orderId", orderId);
+        order.put("paymentId", paymentId);
+        order.put("signature", sign(orderId + "|" + paymentId));
+        post("POST /api/orders/verify", "/api/orders/verify", order, token, true);
+
+        get("GET /api/orders/my-orders", "/api/orders/my-orders", token);
+    }
+
+    // One order creation by an already signed-in user: a request that spends nearly all its time waiting
+    // on Razorpay, so it measures how many requests can wait at once (platform vs virtual threads)
+    private void checkout(SplittableRandom random) throws Exception {
+        String token = data.tokens().get(randomUser(random));
+        Item item = randomItem(random);
+
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("itemId", item.getItemId().toString());
+        order.put("itemName", item.getItemName());
+        order.put("total", item.getItemCost());
+        order.put("quantity", 1);
+        post("POST /api/orders/create", "/api/orders/create", order, token, true);
+    }
+
+    private void review(SplittableRandom random) throws Exception {
+        String token = login(randomUser(random));
+        Item item = randomItem(random);
+        get("GET /api/items/{id}", "/api/items/" + item.getItemId(), null);
+
+        Map<String, Object> review = new LinkedHashMap<>();
+        review.put("itemId", item.getItemId().toString());
+        review.put("reviewText", "Load test review of " + item.getItemName());
+        review.put("rating", 1 + random.nextInt(5));
+        post("POST /api/reviews/add", "/api/reviews/add", review, token, true);
+        get("GET /api/reviews/item/{itemId}", "/api/reviews/item/" + item.getItemId(), null);
+    }
+
+    private String login(String email) throws Exception {
+        JsonNode response = post("POST /api/user/login", "/api/user/login",
+                Map.of("email", email, "password", DataSeeder.PASSWORD), null, false);
+        String token = response.path("token").asText(null);
+        if (token == null) {
+            throw new IllegalStateException("Login returned no token for " + email);
+        }
+        return token;
+    }
+
+    private void get(String endpoint, String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        HttpResponse<Void> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        } catch (Exception e) {
+            report.request(endpoint, System.nanoTime() - start, false, e.getClass().getSimpleName());
+            throw e;
+        }
+        boolean ok = response.statusCode() / 100 == 2;
+        report.request(endpoint, System.nanoTime() - start, ok, "HTTP " + response.statusCode());
+        if (!ok) {
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode());
+        }
+    }
+
+    private JsonNode post(String endpoint, String path, Map<String, ?> body, String token,
+                          boolean expectSuccess) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (Exception e) {
+            report.request(endpoint, System.nanoTime() - start, false, e.getClass().getSimpleName());
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        JsonNode parsed = response.body().length > 0 ? json.readTree(response.body()) : json.nullNode();
+        // Several endpoints answer 200 with success=false
+        boolean ok = response.statusCode() / 100 == 2 && (!expectSuccess || parsed.path("success").asBoolean(false));
+        report.request(endpoint, elapsed, ok, "HTTP " + response.statusCode()
+                + (ok ? "" : " " + abbreviate(parsed.path("message").asText(""))));
+        if (!ok) {
+            throw new IllegalStateException(endpoint + " failed with " + response.statusCode());
+        }
+        return parsed;
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 60 ? message : message.substring(0, 60) + "...";
+    }
+
+    private Item randomItem(SplittableRandom random) {
+        return data.items().get(random.nextInt(data.items().size()));
+    }
+
+    private String randomUser(SplittableRandom random) {
+        return data.userEmails().get(random.nextInt(data.userEmails().size()));
+    }
+
+    private String sign(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(razorpaySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
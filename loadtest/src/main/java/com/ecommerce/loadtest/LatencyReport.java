@@ -0,0 +1,141 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint (route template, e.g.
+ * "GET /api/items/{id}"), plus one per journey measured from its scheduled
+ * start so queueing delay is not hidden.
+ */
+final class LatencyReport {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private static final class Series {
+        final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<String, Series> endpoints = new ConcurrentSkipListMap<>();
+    private final Map<String, Series> journeys = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errorSamples = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean recording;
+
+    void start() {
+        endpoints.clear();
+        journeys.clear();
+        errorSamples.clear();
+        dropped.reset();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void request(String endpoint, long nanos, boolean ok, String error) {
+        if (!recording) {
+            return;
+        }
+        Series series = endpoints.computeIfAbsent(endpoint, key -> new Series());
+        series.histogram.recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+        if (!ok) {
+            series.errors.increment();
+            errorSamples.computeIfAbsent(endpoint + ": " + error, key -> new LongAdder()).increment();
+        }
+    }
+
+    void journey(String name, long nanosSinceScheduled, boolean ok) {
+        if (!recording) {
+            return;
+        }
+        Series series = journeys.computeIfAbsent(name, key -> new Series());
+        series.histogram.recordValue(Math.min(nanosSinceScheduled, MAX_TRACKABLE_NANOS));
+        if (!ok) {
+            series.errors.increment();
+        }
+    }
+
+    void dropped() {
+        if (recording) {
+            dropped.increment();
+        }
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.println();
+        table(out, "Endpoint", endpoints, seconds);
+        out.println();
+        table(out, "Journey (from scheduled start)", journeys, seconds);
+        out.printf(Locale.ROOT, "%nDropped journeys (max in flight reached): %d%n", dropped.sum());
+        if (!errorSamples.isEmpty()) {
+            out.println("Errors:");
+            errorSamples.forEach((error, count) -> out.printf(Locale.ROOT, "  %6d  %s%n", count.sum(), error));
+        }
+    }
+
+    private static void table(PrintStream out, String title, Map<String, Series> rows, double seconds) {
+        out.printf(Locale.ROOT, "%-40s %8s %7s %8s %8s %8s %8s %9s %9s%n",
+                title, "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        rows.forEach((name, series) -> {
+            Histogram h = series.histogram;
+            out.printf(Locale.ROOT, "%-40s %8d %7d %8.1f %8.1f %8.1f %8.1f %9.1f %9.1f%n",
+                    name, h.getTotalCount(), series.errors.sum(), h.getTotalCount() / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        });
+    }
+
+    void write(Path path, LoadTestConfig config, double seconds) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config.toString());
+        report.put("measuredSeconds", seconds);
+        report.put("droppedJourneys", dropped.sum());
+        report.put("endpoints", rows(endpoints, seconds));
+        report.put("journeys", rows(journeys, seconds));
+        Map<String, Long> errors = new LinkedHashMap<>();
+        errorSamples.forEach((error, count) -> errors.put(error, count.sum()));
+        report.put("errors", errors);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static List<Map<String, Object>> rows(Map<String, Series> series, double seconds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        series.forEach((name, s) -> {
+            Histogram h = s.histogram;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", name);
+            row.put("count", h.getTotalCount());
+            row.put("errors", s.errors.sum());
+            row.put("throughputPerSecond", h.getTotalCount() / seconds);
+            row.put("p50Ms", ms(h.getValueAtPercentile(50)));
+            row.put("p90Ms", ms(h.getValueAtPercentile(90)));
+            row.put("p99Ms", ms(h.getValueAtPercentile(99)));
+            row.put("p999Ms", ms(h.getValueAtPercentile(99.9)));
+            row.put("maxMs", ms(h.getMaxValue()));
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
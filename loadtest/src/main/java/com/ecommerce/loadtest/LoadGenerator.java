@@ -0,0 +1,114 @@
+package com.ecommerce.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model generator: journeys start on a Poisson schedule at the configured
+ * rate whether or not earlier ones have finished, so a slow server builds up
+ * in-flight work (and shows it in the latencies) instead of quietly receiving
+ * less load, as a fixed pool of looping clients would.
+ */
+final class LoadGenerator {
+
+    private final LoadTestConfig config;
+    private final Journeys journeys;
+    private final LatencyReport report;
+    private final Random schedule;
+    private final List<String> names = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "journey");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    LoadGenerator(LoadTestConfig config, Journeys journeys, LatencyReport report) {
+        this.config = config;
+        this.journeys = journeys;
+        this.report = report;
+        this.schedule = new Random(config.seed);
+
+        cumulativeWeights = new int[config.mix.size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : config.mix.entrySet()) {
+            total += entry.getValue();
+            cumulativeWeights[names.size()] = total;
+            names.add(entry.getKey());
+        }
+    }
+
+    // Starts journeys for the given time; returns once the last one has been started
+    void run(Duration duration) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate);
+        long end = System.nanoTime() + duration.toNanos();
+        long next = System.nanoTime();
+
+        while (next < end) {
+            // Exponential gaps give Poisson arrivals with the configured mean rate
+            next += (long) (-Math.log(1 - schedule.nextDouble()) * intervalNanos);
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String name = pick();
+            long scheduledAt = next;
+            SplittableRandom random = new SplittableRandom(schedule.nextLong());
+            if (inFlight.get() >= config.maxInFlight) {
+                report.dropped();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                boolean ok = false;
+                try {
+                    journeys.run(name, random);
+                    ok = true;
+                } catch (Exception e) {
+                    // Already counted against the failing request
+                } finally {
+                    report.journey(name, System.nanoTime() - scheduledAt, ok);
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    // Waits for started journeys to finish; false if some were still running at the timeout
+    boolean drain(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        return inFlight.get() == 0;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String pick() {
+        int roll = schedule.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return names.get(i);
+            }
+        }
+        return names.get(names.size() - 1);
+    }
+}
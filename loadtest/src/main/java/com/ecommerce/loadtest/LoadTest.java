@@ -0,0 +1,96 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.EcommerceBackendApplication;
+import com.razorpay.RazorpayClient;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the backend with local stand-ins for MySQL (H2), Gmail (SmtpSink) and
+ * Razorpay (RazorpayStub), seeds it, warms it up and then measures the journey
+ * mix at a fixed arrival rate. See loadtest/pom.xml for how to run it.
+ */
+public final class LoadTest {
+
+    private static final String RAZORPAY_SECRET = "loadtest_secret";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        Path uploads = Files.createTempDirectory("loadtest-uploads");
+        try (SmtpSink smtp = new SmtpSink(); RazorpayStub razorpay = config.razorpayProcess
+                ? RazorpayStub.inSeparateProcess(config.razorpayLatency)
+                : new RazorpayStub(config.razorpayLatency)) {
+            List<String> applicationArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.mail.port=" + smtp.port(),
+                    "--file.upload-dir=" + uploads,
+                    "--razorpay.key.secret=" + RAZORPAY_SECRET));
+            applicationArgs.addAll(config.applicationArgs);
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(EcommerceBackendApplication.class)
+                    .profiles("loadtest")
+                    .run(applicationArgs.toArray(String[]::new));
+            try {
+                // The client is a lazy bean; create it so there is an SDK HTTP client to redirect
+                context.getBean(RazorpayClient.class);
+                razorpay.redirectRazorpayClient();
+
+                long seedStart = System.nanoTime();
+                DataSeeder.SeededData data = DataSeeder.seed(context, config);
+                System.out.printf("Seeded %d items, %d users, %d reviews in %.1f s%n", data.items().size(),
+                        data.userEmails().size(), (long) data.items().size() * config.reviewsPerItem,
+                        (System.nanoTime() - seedStart) / 1e9);
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                System.out.println("Application on port " + port + ", metrics at http://localhost:"
+                        + context.getEnvironment().getProperty("local.management.port") + "/actuator/prometheus");
+
+                LatencyReport report = new LatencyReport();
+                Journeys journeys = new Journeys("http://localhost:" + port, config.requestTimeout, report, smtp, data,
+                        RAZORPAY_SECRET);
+                LoadGenerator generator = new LoadGenerator(config, journeys, report);
+                try {
+                    System.out.println("Warming up for " + config.warmup.toSeconds() + " s");
+                    generator.run(config.warmup);
+                    generator.drain(Duration.ofSeconds(30));
+
+                    System.out.println("Measuring for " + config.duration.toSeconds() + " s");
+                    report.start();
+                    long start = System.nanoTime();
+                    generator.run(config.duration);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    if (!generator.drain(Duration.ofSeconds(60))) {
+                        System.out.println(generator.inFlight() + " journeys still running after 60 s");
+                    }
+                    report.stop();
+
+                    report.print(System.out, seconds);
+                    System.out.printf("Razorpay stub orders: %d, mails received: %d%n", razorpay.orders(), smtp.received());
+                    if (config.report != null) {
+                        report.write(Path.of(config.report), config, seconds);
+                        System.out.println("Report written to " + config.report);
+                    }
+                } finally {
+                    generator.shutdown();
+                }
+            } finally {
+                context.close();
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(uploads);
+        }
+    }
+}
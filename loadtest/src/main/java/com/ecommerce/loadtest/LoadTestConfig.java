@@ -0,0 +1,107 @@
+package com.ecommerce.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Run settings, parsed from key=value arguments. Arguments starting with "--"
+ * are application properties and are handed to Spring untouched, e.g.
+ * "rate=200 --spring.threads.virtual.enabled=true" (virtual threads need a Java 21
+ * JVM and the backend built with -Pjava21).
+ */
+final class LoadTestConfig {
+
+    // Journeys started per second, independent of how fast the server answers
+    final double rate;
+    final Duration warmup;
+    final Duration duration;
+    // Journeys still running beyond this many are counted as dropped instead of started
+    final int maxInFlight;
+    // A request not answered within this counts as failed
+    final Duration requestTimeout;
+    final long seed;
+
+    // Seeded data volumes
+    final int items;
+    final int users;
+    final int reviewsPerItem;
+
+    // Relative journey weights
+    final Map<String, Integer> mix;
+
+    final Duration razorpayLatency;
+    // Runs the Razorpay stub in its own JVM, so its sockets do not count against this process's open-file limit
+    final boolean razorpayProcess;
+    final String report;
+    final List<String> applicationArgs;
+
+    private LoadTestConfig(Map<String, String> values, List<String> applicationArgs) {
+        rate = Double.parseDouble(values.getOrDefault("rate", "20"));
+        warmup = duration(values.getOrDefault("warmup", "15s"));
+        duration = duration(values.getOrDefault("duration", "60s"));
+        maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", "2000"));
+        requestTimeout = duration(values.getOrDefault("request-timeout", "30s"));
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        items = Integer.parseInt(values.getOrDefault("items", "2000"));
+        users = Integer.parseInt(values.getOrDefault("users", "500"));
+        reviewsPerItem = Integer.parseInt(values.getOrDefault("reviews-per-item", "5"));
+        mix = mix(values.getOrDefault("mix", "browse:50,search:20,purchase:15,review:10,register:5"));
+        razorpayLatency = duration(values.getOrDefault("razorpay-latency", "150ms"));
+        razorpayProcess = Boolean.parseBoolean(values.getOrDefault("razorpay-process", "false"));
+        report = values.get("report");
+        this.applicationArgs = List.copyOf(applicationArgs);
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestConfig(values, applicationArgs);
+    }
+
+    // 90s, 1500ms, 2m
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            weights.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s warmup=" + warmup.toSeconds() + "s duration=" + duration.toSeconds()
+                + "s max-in-flight=" + maxInFlight + " request-timeout=" + requestTimeout.toSeconds()
+                + "s items=" + items + " users=" + users + " reviews-per-item=" + reviewsPerItem
+                + " mix=" + mix + " razorpay-latency=" + razorpayLatency.toMillis() + "ms"
+                + (razorpayProcess ? " razorpay-process=true" : "")
+                + (applicationArgs.isEmpty() ? "" : " app=" + applicationArgs);
+    }
+}
@@ -0,0 +1,183 @@
+package com.ecommerce.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Razorpay orders API. Answers POST /v1/orders after a
+ * configurable delay, like the real call made by OrderService.createRazorpayOrder.
+ */
+final class RazorpayStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final AtomicLong orders = new AtomicLong();
+    // Set instead of server when the stub runs in a separate JVM
+    private final Process process;
+    private final int port;
+
+    RazorpayStub(Duration latency) throws IOException {
+        this.latency = latency;
+        this.process = null;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 512);
+        server.createContext("/v1/orders", this::createOrder);
+        server.createContext("/orders-created", this::ordersCreated);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "razorpay-stub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        port = server.getAddress().getPort();
+    }
+
+    private RazorpayStub(Duration latency, Process process, int port) {
+        this.server = null;
+        this.latency = latency;
+        this.process = process;
+        this.port = port;
+    }
+
+    // Starts the stub in a child JVM on this classpath; it prints its port and serves until its stdin closes
+    static RazorpayStub inSeparateProcess(Duration latency) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                RazorpayStub.class.getName(), Long.toString(latency.toMillis()))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String line = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))
+                .readLine();
+        if (line == null) {
+            process.destroyForcibly();
+            throw new IOException("Razorpay stub process exited before reporting its port");
+        }
+        return new RazorpayStub(latency, process, Integer.parseInt(line.trim()));
+    }
+
+    public static void main(String[] args) throws IOException {
+        try (RazorpayStub stub = new RazorpayStub(Duration.ofMillis(Long.parseLong(args[0])))) {
+            System.out.println(stub.port());
+            System.out.flush();
+            while (System.in.read() != -1) {
+                // Parent still running
+            }
+        }
+    }
+
+    int port() {
+        return port;
+    }
+
+    long orders() {
+        if (process == null) {
+            return orders.get();
+        }
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/orders-created")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return Long.parseLong(response.body().trim());
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private void ordersCreated(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = Long.toString(orders.get()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private void createOrder(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            JSONObject request = new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            Thread.sleep(latency.toMillis());
+
+            long sequence = orders.incrementAndGet();
+            JSONObject order = new JSONObject()
+                    .put("id", "order_lt" + Long.toString(sequence, 36))
+                    .put("entity", "order")
+                    .put("amount", request.optLong("amount"))
+                    .put("amount_paid", 0)
+                    .put("amount_due", request.optLong("amount"))
+                    .put("currency", request.optString("currency", "INR"))
+                    .put("receipt", request.optString("receipt"))
+                    .put("status", "created")
+                    .put("attempts", 0)
+                    .put("created_at", System.currentTimeMillis() / 1000);
+
+            byte[] body = order.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The Razorpay SDK always calls https://api.razorpay.com through one static
+     * OkHttp client (created when the RazorpayClient bean is built). Swapping in a
+     * copy of that client which rewrites every URL to this stub keeps the rest of
+     * the application's payment path unchanged.
+     */
+    void redirectRazorpayClient() throws ReflectiveOperationException {
+        Field clientField = Class.forName("com.razorpay.ApiUtils").getDeclaredField("client");
+        clientField.setAccessible(true);
+        OkHttpClient sdkClient = (OkHttpClient) clientField.get(null);
+        if (sdkClient == null) {
+            throw new IllegalStateException("Razorpay client has not been created yet");
+        }
+
+        int port = port();
+        // The SDK gives up after 60 s; a slower stub must not turn into read timeouts
+        long readTimeoutMs = Math.max(sdkClient.readTimeoutMillis(), 2 * latency.toMillis());
+        OkHttpClient redirected = sdkClient.newBuilder()
+                .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .addInterceptor(chain -> {
+                    HttpUrl local = chain.request().url().newBuilder()
+                            .scheme("http")
+                            .host("127.0.0.1")
+                            .port(port)
+                            .build();
+                    return chain.proceed(chain.request().newBuilder().url(local).build());
+                })
+                .build();
+        clientField.set(null, redirected);
+    }
+
+    @Override
+    public void close() {
+        if (process != null) {
+            process.destroy();
+        } else {
+            server.stop(0);
+        }
+    }
+}
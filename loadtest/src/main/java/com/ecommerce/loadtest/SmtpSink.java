@@ -0,0 +1,57 @@
+package com.ecommerce.loadtest;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.internet.MimeMessage;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local SMTP server standing in for Gmail. Registration journeys read their
+ * OTP from the mail the application sent.
+ */
+final class SmtpSink implements AutoCloseable {
+
+    private static final Pattern OTP = Pattern.compile("verification is: (\\d+)");
+
+    private final GreenMail greenMail;
+
+    SmtpSink() {
+        greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        // The mail sender logs in whenever a username is set; accept any credentials
+        greenMail.withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+        greenMail.start();
+    }
+
+    int port() {
+        return greenMail.getSmtp().getPort();
+    }
+
+    int received() {
+        return greenMail.getReceivedMessages().length;
+    }
+
+    // Waits for the OTP mail sent to the address; empty if none arrives in time
+    Optional<String> awaitOtp(String email, Duration timeout) throws Exception {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            for (MimeMessage message : greenMail.getReceivedMessagesForDomain(email)) {
+                Matcher matcher = OTP.matcher(message.getContent().toString());
+                if (matcher.find()) {
+                    return Optional.of(matcher.group(1));
+                }
+            }
+            Thread.sleep(25);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+        greenMail.stop();
+    }
+}
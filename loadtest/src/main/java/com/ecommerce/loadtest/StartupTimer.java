@@ -0,0 +1,149 @@
+package com.ecommerce.loadtest;
+
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: from launching a fresh JVM with the backend to its first
+ * successful GET /api/items/all, for each startup mode of the fast-startup profile.
+ * The backend runs against H2 with the loadtest settings, so the numbers compare
+ * modes on one machine rather than predict production. Modes that use a CDS archive
+ * get a training run first. Every mode gets one unmeasured run to warm the OS file
+ * cache. Options are key=value pairs: runs (5), modes
+ * (default,cds,aot,aot+cds) and jvm (extra JVM flags, comma separated).
+ */
+public final class StartupTimer {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(180);
+
+    private StartupTimer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> modes = List.of(options.getOrDefault("modes", "default,cds,aot,aot+cds").split(","));
+        List<String> extraJvmArgs = options.containsKey("jvm") ? List.of(options.get("jvm").split(",")) : List.of();
+
+        // CDS only archives classes loaded from jar files, so the module's own classes directory is left out
+        String classpath = String.join(File.pathSeparator, Arrays.stream(
+                System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.endsWith(".jar"))
+                .toList());
+        Path settings = Path.of(StartupTimer.class.getResource("/application-loadtest.properties").toURI());
+        Path work = Files.createTempDirectory("startup-timer");
+
+        System.out.printf("Java %s, %d CPUs, %d runs per mode%n", Runtime.version(),
+                Runtime.getRuntime().availableProcessors(), runs);
+        System.out.printf("%-10s %8s %8s %8s%n", "mode", "p50 ms", "min ms", "max ms");
+        try {
+            for (String mode : modes) {
+                List<String> jvmArgs = new ArrayList<>(extraJvmArgs);
+                if (mode.contains("aot")) {
+                    jvmArgs.add("-Dspring.aot.enabled=true");
+                }
+                if (mode.contains("cds")) {
+                    Path archive = work.resolve(mode.replace('+', '-') + ".jsa");
+                    List<String> training = new ArrayList<>(jvmArgs);
+                    training.add("-XX:ArchiveClassesAtExit=" + archive);
+                    training.add("-Dspring.context.exit=onRefresh");
+                    Process process = launch(training, classpath, settings, work, freePort());
+                    if (!process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS) || !Files.exists(archive)) {
+                        process.destroyForcibly();
+                        throw new IllegalStateException("CDS training run for " + mode + " failed, see "
+                                + work.resolve("backend.log"));
+                    }
+                    jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+                }
+
+                long[] millis = new long[runs];
+                timeToFirstRequest(jvmArgs, classpath, settings, work);
+                for (int i = 0; i < runs; i++) {
+                    millis[i] = timeToFirstRequest(jvmArgs, classpath, settings, work);
+                }
+                Arrays.sort(millis);
+                System.out.printf("%-10s %8d %8d %8d%n", mode, millis[runs / 2], millis[0], millis[runs - 1]);
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(work);
+        }
+    }
+
+    private static long timeToFirstRequest(List<String> jvmArgs, String classpath, Path settings, Path work)
+            throws Exception {
+        int port = freePort();
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/items/all"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = launch(jvmArgs, classpath, settings, work, port);
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Backend exited during startup, see " + work.resolve("backend.log"));
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No response within " + STARTUP_TIMEOUT.toSeconds() + " s");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Process launch(List<String> jvmArgs, String classpath, Path settings, Path work, int port)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", classpath, "com.ecommerce.EcommerceBackendApplication",
+                "--spring.config.additional-location=file:" + settings,
+                "--server.port=" + port,
+                "--file.upload-dir=" + work.resolve("uploads"),
+                "--razorpay.key.secret=startup_timer"));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(work.resolve("backend.log").toFile())
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
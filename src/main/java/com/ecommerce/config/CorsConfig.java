@@ -33,7 +33,7 @@ public class CorsConfig {
         configuration.setMaxAge(3600L);
 
         // FIXED: Expose Authorization header
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Server-Timing", "X-Request-Id"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,63 @@
+package com.ecommerce.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders, reviews and contacts used AUTO_INCREMENT ids before moving to pooled
+ * table generators. Moves each generator past the rows that already exist so
+ * new ids cannot collide with them. Runs after the migrations and before the
+ * web server accepts requests.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorAligner {
+
+    // Must match allocationSize on the entities' @TableGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Generator row (table name) -> id column
+    private static final Map<String, String> GENERATED_IDS = Map.of(
+            "orders", "order_id",
+            "reviews", "review_id",
+            "contact_details", "contact_id"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignWithExistingRows() {
+        GENERATED_IDS.forEach(this::align);
+    }
+
+    private void align(String table, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+
+        // A pooled generator hands out (next_val - 49 .. next_val), so stay a full block ahead
+        long floor = maxId + ALLOCATION_SIZE + 1;
+        List<Long> current = jdbcTemplate.queryForList(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ?", Long.class, table);
+
+        if (current.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", table, floor);
+        } else if (current.get(0) <= maxId) {
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?", floor, table);
+        } else {
+            return;
+        }
+        log.info("Moved {} id generator past existing rows (max id {}, next block {})", table, maxId, floor);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.config;
+
+import com.ecommerce.dto.ImageCacheStats;
+import com.ecommerce.dto.ResponseCacheStats;
+import com.ecommerce.logging.LoggingMetrics;
+import com.ecommerce.service.ImageCacheService;
+import com.ecommerce.service.BatchService;
+import com.ecommerce.service.MailDispatchService;
+import com.ecommerce.service.OrderStreamService;
+import com.ecommerce.service.QueryMetricsService;
+import com.ecommerce.service.ResponseCacheService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Application meters for the Prometheus endpoint. HTTP routes, HikariCP, Hibernate
+ * and the JVM are bound by Spring Boot; the counters here read the statistics the
+ * services already keep, so they cost nothing until scraped.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Registered once per outcome so recording a call is a single allocation-free record()
+    public static Timer externalCallTimer(MeterRegistry registry, String service, String operation, String outcome) {
+        return Timer.builder("external.call")
+                .description("Time spent in calls to external services")
+                .tag("service", service)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder applicationMetrics(ImageCacheService imageCacheService,
+                                          ResponseCacheService responseCacheService,
+                                          QueryMetricsService queryMetricsService,
+                                          MailDispatchService mailDispatchService,
+                                          OrderStreamService orderStreamService,
+                                          BatchService batchService) {
+        return registry -> {
+            cacheCounter(registry, "image", "hit", imageCacheService, s -> s.getStats().getHits());
+            cacheCounter(registry, "image", "miss", imageCacheService, s -> s.getStats().getMisses());
+            Gauge.builder("app.cache.size.bytes", imageCacheService, s -> s.getStats().getUsedBytes())
+                    .tag("cache", "image").register(registry);
+
+            cacheCounter(registry, "response", "hit", responseCacheService, s -> s.getStats().getHits());
+            cacheCounter(registry, "response", "miss", responseCacheService, s -> s.getStats().getMisses());
+            Gauge.builder("app.cache.size.bytes", responseCacheService, s -> s.getStats().getUsedBytes())
+                    .tag("cache", "response").register(registry);
+
+            FunctionCounter.builder("app.query.slow", queryMetricsService, QueryMetricsService::getSlowCalls)
+                    .description("Repository calls slower than query.slow-threshold-ms")
+                    .register(registry);
+            FunctionCounter.builder("app.query.n_plus_one", queryMetricsService, QueryMetricsService::getNPlusOneRequests)
+                    .description("Requests that repeated one SELECT n-plus-one-threshold times or more")
+                    .register(registry);
+
+            Gauge.builder("app.mail.queue.depth", mailDispatchService, MailDispatchService::getQueueDepth)
+                    .register(registry);
+
+            Gauge.builder("app.orders.stream.connections", orderStreamService, OrderStreamService::getConnections)
+                    .description("Open /api/orders/stream connections")
+                    .register(registry);
+            FunctionCounter.builder("app.orders.stream.events", orderStreamService, OrderStreamService::getDelivered)
+                    .register(registry);
+            FunctionCounter.builder("app.orders.stream.overflowed", orderStreamService, OrderStreamService::getOverflowed)
+                    .description("Streams disconnected for falling a whole buffer behind")
+                    .register(registry);
+            FunctionCounter.builder("app.orders.stream.rejected", orderStreamService, OrderStreamService::getRejected)
+                    .description("Stream requests refused at orders.stream.max-connections")
+                    .register(registry);
+
+            Gauge.builder("app.batch.queue.size", batchService, BatchService::getQueued)
+                    .description("Batch parts waiting for a worker")
+                    .register(registry);
+            FunctionCounter.builder("app.batch.rejected", batchService, BatchService::getRejected)
+                    .description("Batch parts refused with 503 because the queue was full")
+                    .register(registry);
+
+            FunctionCounter.builder("app.logging.dropped", LoggingMetrics.class, c -> LoggingMetrics.getDropped())
+                    .description("Log events discarded because the async queue was full")
+                    .register(registry);
+            FunctionCounter.builder("app.logging.sampled_out", LoggingMetrics.class, c -> LoggingMetrics.getSampledOut())
+                    .register(registry);
+        };
+    }
+
+    private static <T> void cacheCounter(MeterRegistry registry, String cache, String result, T source,
+                                         ToDoubleFunction<T> count) {
+        FunctionCounter.builder("app.cache.requests", source, count)
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.config;
+
+import com.ecommerce.service.QueryMetricsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Flags requests that run the same SELECT many times, the usual shape of an
+ * N+1 query (one statement per row of a previous result).
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryInspectionFilter extends OncePerRequestFilter {
+
+    private final QueryMetricsService queryMetricsService;
+
+    @Value("${query.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (QueryInspector.Scope scope = QueryInspector.open()) {
+            filterChain.doFilter(request, response);
+
+            for (Map.Entry<String, Integer> entry : scope.getCountsBySql().entrySet()) {
+                if (entry.getValue() >= nPlusOneThreshold && entry.getKey().trim().regionMatches(true, 0, "select", 0, 6)) {
+                    queryMetricsService.recordNPlusOne(request.getMethod() + " " + request.getRequestURI(),
+                            entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+}
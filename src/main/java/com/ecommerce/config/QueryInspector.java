@@ -0,0 +1,84 @@
+package com.ecommerce.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sees every SQL statement Hibernate prepares. Keeps a per-thread running count
+ * (used to attribute statements to repository methods) and feeds any open
+ * {@link Scope}, which is how requests look for N+1 patterns and tests count
+ * the statements a call issues.
+ */
+public class QueryInspector implements StatementInspector {
+
+    // Statements kept per scope; counts stay exact beyond this
+    private static final int MAX_CAPTURED = 1000;
+
+    private static final ThreadLocal<long[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENT_COUNT.get()[0]++;
+        for (Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    public static long statementCount() {
+        return STATEMENT_COUNT.get()[0];
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT_SCOPE.get());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<String> statements = new ArrayList<>();
+        private final Map<String, Integer> countsBySql = new HashMap<>();
+        private int count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            count++;
+            countsBySql.merge(sql, 1, Integer::sum);
+            if (statements.size() < MAX_CAPTURED) {
+                statements.add(sql);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<String> getStatements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        public Map<String, Integer> getCountsBySql() {
+            return Collections.unmodifiableMap(countsBySql);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT_SCOPE.remove();
+            } else {
+                CURRENT_SCOPE.set(parent);
+            }
+        }
+    }
+}
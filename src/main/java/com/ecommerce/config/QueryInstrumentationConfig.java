@@ -0,0 +1,100 @@
+package com.ecommerce.config;
+
+import com.ecommerce.service.QueryMetricsService;
+import com.ecommerce.util.RequestTiming;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Wraps every Spring Data repository so each method call is timed and its
+ * statements (seen by {@link QueryInspector}) and rows counted.
+ */
+@Configuration
+public class QueryInstrumentationConfig {
+
+    // Static so registering it does not pull the metrics service into early initialization
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<QueryMetricsService> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryMetricsInterceptor(metrics,
+                                            information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<QueryMetricsService> metrics;
+        private final String repository;
+
+        RepositoryMetricsInterceptor(ObjectProvider<QueryMetricsService> metrics, String repository) {
+            this.metrics = metrics;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            QueryMetricsService service = metrics.getIfAvailable();
+            if (service == null) {
+                return invocation.proceed();
+            }
+
+            long statementsBefore = QueryInspector.statementCount();
+            long start = System.nanoTime();
+            boolean failed = true;
+            Object result = null;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                RequestTiming.record(RequestTiming.Phase.DB, elapsed);
+                service.record(repository + "." + invocation.getMethod().getName(),
+                        elapsed,
+                        QueryInspector.statementCount() - statementsBefore,
+                        rows(result),
+                        failed);
+            }
+        }
+
+        private static long rows(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Map<?, ?> map) {
+                return map.size();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Iterable<?> iterable) {
+                long count = 0;
+                for (Object ignored : iterable) {
+                    count++;
+                }
+                return count;
+            }
+            return 1;
+        }
+    }
+}
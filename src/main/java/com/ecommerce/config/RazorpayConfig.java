@@ -5,6 +5,7 @@ import com.razorpay.RazorpayException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class RazorpayConfig {
@@ -15,7 +16,9 @@ public class RazorpayConfig {
     @Value("${razorpay.key.secret}")
     private String razorpayKeySecret;
 
+    // Built on the first order: the SDK sets up its HTTP client and JSON stack in the constructor
     @Bean
+    @Lazy
     public RazorpayClient razorpayClient() throws RazorpayException {
         return new RazorpayClient(razorpayKeyId, razorpayKeySecret);
     }
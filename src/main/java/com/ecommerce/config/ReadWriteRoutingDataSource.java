@@ -0,0 +1,115 @@
+package com.ecommerce.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is known
+ * by the time a physical connection is requested.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+    // Set around work that must see the latest commit whatever its transaction's read-only flag
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final long readYourWritesMs;
+
+    // Users who committed a write recently, so their reads must see it
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    // Set by ReplicaLagMonitor; the replica is not trusted until the first check passes
+    private volatile boolean replicaInSync = false;
+
+    public ReadWriteRoutingDataSource(long readYourWritesMs) {
+        this.readYourWritesMs = readYourWritesMs;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) {
+                recordWriteOnCommit(user);
+            }
+            return Route.PRIMARY;
+        }
+
+        if (!replicaInSync || FORCE_PRIMARY.get() != null || (user != null && wroteRecently(user))) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    /**
+     * Runs work with every read-only transaction it opens sent to the primary.
+     * A no-op where no replica is configured.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    public void setReplicaInSync(boolean replicaInSync) {
+        this.replicaInSync = replicaInSync;
+    }
+
+    public boolean isReplicaInSync() {
+        return replicaInSync;
+    }
+
+    public void pruneExpiredWrites() {
+        long cutoff = System.currentTimeMillis() - readYourWritesMs;
+        lastWriteByUser.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private void recordWriteOnCommit(String user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastWriteByUser.put(user, System.currentTimeMillis());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(user, System.currentTimeMillis());
+            }
+        });
+    }
+
+    private boolean wroteRecently(String user) {
+        Long writtenAt = lastWriteByUser.get(user);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < readYourWritesMs;
+    }
+
+    // Guests all share "anonymousUser", so one guest's write would pin every guest's reads to the primary
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || TRUST_RESOLVER.isAnonymous(authentication)) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Measures replication lag with a heartbeat row: the primary stamps it on every
+ * tick and the replica's copy shows how far behind it is. The routing data source
+ * falls back to the primary while the lag is over the threshold or the replica
+ * cannot be reached. The table comes from the V5 migration.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final long maxLagMs;
+
+    private volatile long lastLagMs = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica,
+                             ReadWriteRoutingDataSource routingDataSource, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.routingDataSource = routingDataSource;
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.heartbeat-interval-ms:1000}")
+    public void check() {
+        try {
+            beat();
+            lastLagMs = measureLag();
+        } catch (DataAccessException e) {
+            log.warn("Replica heartbeat failed: {}", e.getMessage());
+            lastLagMs = -1;
+        }
+
+        boolean inSync = lastLagMs >= 0 && lastLagMs <= maxLagMs;
+        if (inSync != routingDataSource.isReplicaInSync()) {
+            if (inSync) {
+                log.info("Replica caught up (lag {} ms), routing read-only transactions to it", lastLagMs);
+            } else {
+                log.warn("Replica lag {} ms exceeds {} ms, routing reads to the primary", lastLagMs, maxLagMs);
+            }
+        }
+        routingDataSource.setReplicaInSync(inSync);
+        routingDataSource.pruneExpiredWrites();
+    }
+
+    public long getLastLagMs() {
+        return lastLagMs;
+    }
+
+    private void beat() {
+        long now = System.currentTimeMillis();
+        if (primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+            primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", now);
+        }
+    }
+
+    // -1 when the replica has no heartbeat yet
+    private long measureLag() {
+        List<Long> beats = replica.queryForList("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+        if (beats.isEmpty()) {
+            return -1;
+        }
+        return Math.max(0, System.currentTimeMillis() - beats.get(0));
+    }
+}
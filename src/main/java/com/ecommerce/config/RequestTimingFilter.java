@@ -0,0 +1,127 @@
+package com.ecommerce.config;
+
+import com.ecommerce.util.JwtUtil;
+import com.ecommerce.util.RequestTiming;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Times each request by phase (see {@link RequestTiming}) and tags its log lines
+ * with a correlation id. Sampled requests, and requests carrying X-Debug-Timing
+ * from an admin, get the breakdown as a Server-Timing header; any request slower
+ * than request.timing.slow-threshold-ms is logged with it.
+ * Runs ahead of Spring Security so JWT handling falls inside the timed span.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+@RequiredArgsConstructor
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String DEBUG_TIMING_HEADER = "X-Debug-Timing";
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final JwtUtil jwtUtil;
+
+    @Value("${request.timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${request.timing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${request.timing.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String requestId = requestId(request);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put("requestId", requestId);
+
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        // Security has not run yet, so the admin check is done here; anyone else's flag costs nothing
+        boolean flagged = request.getHeader(DEBUG_TIMING_HEADER) != null && bufferable(request) && isAdmin(request);
+        // The header has to be set after the body is rendered, so those responses are buffered
+        ContentCachingResponseWrapper buffered = (sampled || flagged) && bufferable(request)
+                ? new ContentCachingResponseWrapper(response) : null;
+
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long totalNanos = timing.elapsedNanos();
+            RequestTiming.end();
+            try {
+                if (buffered != null) {
+                    if (sampled || timing.isDetailAllowed()) {
+                        buffered.setHeader("Server-Timing", timing.toServerTiming(totalNanos));
+                    }
+                    buffered.copyBodyToResponse();
+                }
+                long totalMs = TimeUnit.NANOSECONDS.toMillis(totalNanos);
+                if (totalMs >= slowThresholdMs) {
+                    log.warn("Slow request {} {} took {} ms: {} (requestId={})", request.getMethod(),
+                            request.getRequestURI(), totalMs, timing.summary(), requestId);
+                }
+            } finally {
+                MDC.remove("requestId");
+            }
+        }
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String incoming = request.getHeader(REQUEST_ID_HEADER);
+        if (incoming != null && VALID_REQUEST_ID.matcher(incoming).matches()) {
+            return incoming;
+        }
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    private boolean isAdmin(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (!StringUtils.hasText(authorization) || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        try {
+            return "ADMIN".equals(jwtUtil.extractRole(authorization.substring(7)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Streams (SSE) and image bodies are never buffered
+    private static boolean bufferable(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/uploads/") || uri.startsWith("/api/uploads/") || uri.startsWith("/api/orders/stream")) {
+            return false;
+        }
+        String accept = request.getHeader("Accept");
+        return accept == null || !accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+}
@@ -64,14 +64,27 @@ public class SecurityConfig {
                                 "/api/reviews/item/**",
                                 "/api/contact/submit",
                                 "/uploads/**",
-                                "/api/uploads/**"
+                                "/api/uploads/**",
+                                "/.well-known/jwks.json",
+                                // Each part is authorized against these rules for its own path (BatchService)
+                                "/api/batch",
+                                // Served on management.server.port only, which is not exposed publicly
+                                "/actuator/health",
+                                "/actuator/prometheus"
                         ).permitAll()
 
                         // ADMIN ONLY endpoints - Must have ROLE_ADMIN
                         .requestMatchers(
                                 "/api/admin/profile",
                                 "/api/admin/dashboard",
+                                "/api/admin/mail/**",
+                                "/api/admin/image-cache/**",
+                                "/api/admin/response-cache/**",
+                                "/api/admin/cache/**",
+                                "/api/admin/query/**",
+                                "/api/admin/logging/**",
                                 "/api/items/add",
+                                "/api/items/upload",
                                 "/api/items/update/**",
                                 "/api/items/delete/**",
                                 "/api/items/admin",
@@ -89,6 +102,7 @@ public class SecurityConfig {
                                 "/api/orders/create",
                                 "/api/orders/verify",
                                 "/api/orders/my-orders",
+                                "/api/orders/stream",
                                 "/api/orders/{id}",
                                 "/api/reviews/add"
                         ).hasRole("USER")
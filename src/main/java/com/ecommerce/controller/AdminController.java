@@ -4,8 +4,14 @@ import com.ecommerce.dto.ApiResponse;
 import com.ecommerce.dto.AuthResponse;
 import com.ecommerce.dto.LoginRequest;
 import com.ecommerce.dto.SignupRequest;
+import com.ecommerce.logging.LoggingMetrics;
 import com.ecommerce.model.Admin;
 import com.ecommerce.service.AdminService;
+import com.ecommerce.service.CacheStatsService;
+import com.ecommerce.service.ImageCacheService;
+import com.ecommerce.service.MailDispatchService;
+import com.ecommerce.service.QueryMetricsService;
+import com.ecommerce.service.ResponseCacheService;
 import com.ecommerce.util.OtpUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -26,6 +32,11 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final MailDispatchService mailDispatchService;
+    private final ImageCacheService imageCacheService;
+    private final CacheStatsService cacheStatsService;
+    private final QueryMetricsService queryMetricsService;
+    private final ResponseCacheService responseCacheService;
     private final OtpUtil otpUtil;
 
     // In-memory storage for password reset OTPs
@@ -66,27 +77,15 @@ public class AdminController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        try {
-            AuthResponse response = adminService.login(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Login failed", e);
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new ApiResponse(false, e.getMessage()));
-        }
+        AuthResponse response = adminService.login(request);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/profile")
     public ResponseEntity<?> getProfile(Authentication authentication) {
-        try {
-            String email = authentication.getName();
-            Admin admin = adminService.getAdminByEmail(email);
-            return ResponseEntity.ok(new ApiResponse(true, "Profile fetched", admin));
-        } catch (Exception e) {
-            log.error("Failed to fetch profile", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse(false, "Failed to fetch profile"));
-        }
+        String email = authentication.getName();
+        Admin admin = adminService.getAdminByEmail(email);
+        return ResponseEntity.ok(new ApiResponse(true, "Profile fetched", admin));
     }
 
     @PutMapping("/profile")
@@ -107,6 +106,48 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/mail/stats")
+    public ResponseEntity<ApiResponse> getMailStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("dispatch", mailDispatchService.getStats());
+        stats.put("deadLetters", mailDispatchService.getDeadLetters());
+        return ResponseEntity.ok(new ApiResponse(true, "Mail dispatch stats fetched", stats));
+    }
+
+    @GetMapping("/image-cache/stats")
+    public ResponseEntity<ApiResponse> getImageCacheStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Image cache stats fetched", imageCacheService.getStats()));
+    }
+
+    @GetMapping("/response-cache/stats")
+    public ResponseEntity<ApiResponse> getResponseCacheStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Response cache stats fetched",
+                responseCacheService.getStats()));
+    }
+
+    @GetMapping("/logging/stats")
+    public ResponseEntity<ApiResponse> getLoggingStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("dropped", LoggingMetrics.getDropped());
+        stats.put("sampledOut", LoggingMetrics.getSampledOut());
+        return ResponseEntity.ok(new ApiResponse(true, "Logging stats fetched", stats));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse> getCacheStats() {
+        return ResponseEntity.ok(new ApiResponse(true, "Cache stats fetched",
+                cacheStatsService.getSecondLevelCacheStats()));
+    }
+
+    @GetMapping("/query/stats")
+    public ResponseEntity<ApiResponse> getQueryStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("repositoryMethods", queryMetricsService.getStats());
+        stats.put("slowCalls", queryMetricsService.getSlowCalls());
+        stats.put("nPlusOneRequests", queryMetricsService.getNPlusOneRequests());
+        return ResponseEntity.ok(new ApiResponse(true, "Query stats fetched", stats));
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<ApiResponse> forgotPassword(@RequestBody Map<String, String> request) {
         try {
@@ -0,0 +1,40 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.dto.BatchPart;
+import com.ecommerce.dto.BatchRequest;
+import com.ecommerce.service.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchController {
+
+    private final BatchService batchService;
+
+    // Several GET routes in one round trip, e.g. {"requests": [{"id": "items", "path": "/api/items/all"},
+    // {"id": "orders", "path": "/api/orders/my-orders"}]}. Results come back in request order, each with
+    // the status and body the route would have returned on its own.
+    @PostMapping
+    public ResponseEntity<?> batch(@RequestBody BatchRequest batchRequest, HttpServletRequest request,
+                                   HttpServletResponse response) {
+        List<BatchPart> parts = batchRequest.getRequests();
+        if (parts == null || parts.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "No requests in batch"));
+        }
+        if (parts.size() > batchService.getMaxParts()) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "At most " + batchService.getMaxParts() + " requests per batch"));
+        }
+        return ResponseEntity.ok(batchService.execute(parts, request, response));
+    }
+}
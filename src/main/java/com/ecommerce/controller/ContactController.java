@@ -50,14 +50,8 @@ public class ContactController {
 
     @GetMapping("/{contactId}")
     public ResponseEntity<?> getContactById(@PathVariable Long contactId) {
-        try {
-            Contact contact = contactService.getContactById(contactId);
-            return ResponseEntity.ok(new ApiResponse(true, "Contact fetched successfully", contact));
-        } catch (Exception e) {
-            log.error("Failed to fetch contact", e);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ApiResponse(false, "Contact not found"));
-        }
+        Contact contact = contactService.getContactById(contactId);
+        return ResponseEntity.ok(new ApiResponse(true, "Contact fetched successfully", contact));
     }
 
     @DeleteMapping("/delete/{contactId}")
@@ -1,16 +1,31 @@
 package com.ecommerce.controller;
 
 import com.ecommerce.service.FileStorageService;
+import com.ecommerce.service.ImageCacheService;
+import com.ecommerce.service.ImageVariantService;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/uploads")  // FIXED: Added /api prefix
@@ -18,49 +33,226 @@ import java.nio.file.Path;
 @Slf4j
 public class FileController {
 
+    // Content-addressed names never change content, so clients may cache them forever
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE_CACHE = "public, max-age=3600";
+    private static final String STAND_IN_CACHE = "no-cache";
+
+    // Tomcat performs the copy with sendfile(2) when these request attributes are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ImageCacheService imageCacheService;
 
     @GetMapping("/{filename:.+}")
-    public ResponseEntity<Resource> serveFile(@PathVariable String filename) {
+    public void serveFile(@PathVariable String filename,
+                          @RequestParam(value = "size", required = false) String size,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        Path filePath;
         try {
-            Path filePath = fileStorageService.loadFile(filename);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() || resource.isReadable()) {
-                String contentType = "application/octet-stream";
-
-                // Determine content type based on file extension
-                String fileExtension = filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
-                switch (fileExtension) {
-                    case "jpg":
-                    case "jpeg":
-                        contentType = "image/jpeg";
-                        break;
-                    case "png":
-                        contentType = "image/png";
-                        break;
-                    case "gif":
-                        contentType = "image/gif";
-                        break;
-                    case "webp":
-                        contentType = "image/webp";
-                        break;
-                    case "pdf":
-                        contentType = "application/pdf";
-                        break;
+            filePath = fileStorageService.loadFile(filename);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        if (!Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+            log.warn("File not found or not readable: {}", filename);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        boolean immutable = fileStorageService.isContentAddressed(filename);
+        String etagPrefix = stripExtension(filename);
+        String servedVariant = null;
+        String cacheControl = immutable ? IMMUTABLE_CACHE : REVALIDATE_CACHE;
+
+        // Resized copy if one exists, otherwise the original while it is being made
+        if (size != null) {
+            if (!imageVariantService.isVariant(size)) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+            Optional<Path> variant = imageVariantService.resolveVariant(filename, size);
+            if (variant.isPresent()) {
+                filePath = variant.get();
+                etagPrefix = etagPrefix + "-" + size;
+                servedVariant = size;
+            } else if (immutable && !imageVariantService.isOriginalOnly(filename, size)) {
+                // Stand-in only: the client must come back for the variant once it exists
+                cacheControl = STAND_IN_CACHE;
+            }
+        }
+
+        String cacheKey = ImageCacheService.key(filename, servedVariant);
+        writeFile(filePath, filename, cacheKey, etagPrefix, immutable, cacheControl, request, response);
+    }
+
+    private void writeFile(Path filePath, String filename, String cacheKey, String etagPrefix, boolean immutable,
+                           String cacheControl, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long length = attributes.size();
+
+        // The name is the SHA-256 of the content; legacy names fall back to size + mtime
+        String etag = immutable
+                ? "\"" + etagPrefix + "\""
+                : "W/\"" + Long.toHexString(length) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (!immutable) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, attributes.lastModifiedTime().toMillis());
+        }
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(filePath.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(filename, StandardCharsets.UTF_8).build().toString());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds != null && bounds.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        // Hot images are written straight from their off-heap buffer
+        ByteBuffer cached = imageCacheService.get(cacheKey);
+        if (cached == null) {
+            cached = imageCacheService.admit(cacheKey, filePath, length);
+        }
+        if (cached != null && cached.remaining() == length) {
+            cached.position((int) start).limit((int) (end + 1));
+            writeBuffer(cached, response);
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, filePath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
                 }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
 
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                        .body(resource);
-            } else {
-                log.error("File not found or not readable: {}", filename);
-                return ResponseEntity.notFound().build();
+    private static void writeBuffer(ByteBuffer buffer, HttpServletResponse response) throws IOException {
+        ServletOutputStream out = response.getOutputStream();
+        if (out instanceof CoyoteOutputStream coyote) {
+            // Tomcat copies from the buffer into its socket buffer, no intermediate byte[]
+            coyote.write(buffer);
+        } else {
+            Channels.newChannel(out).write(buffer);
+        }
+    }
+
+    private static String stripExtension(String filename) {
+        int dot = filename.indexOf('.');
+        return dot < 0 ? filename : filename.substring(0, dot);
+    }
+
+    // Weak comparison, as required for If-None-Match
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Range needs a strong match; dates and weak tags fall back to the full body
+    private static boolean ifRangeMatches(String ifRange, String etag) {
+        return ifRange == null || (!etag.startsWith("W/") && ifRange.trim().equals(etag));
+    }
+
+    // Returns {start, end}, an empty array when unsatisfiable, or null to ignore the header.
+    // Only single ranges are honoured; servers may answer anything else with the full body.
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            if (!last.isEmpty() && Long.parseLong(last) < start) {
+                // Not a valid range at all, so the header is ignored and the whole file served (RFC 9110)
+                return null;
+            }
+            if (start >= length) {
+                return new long[0];
             }
-        } catch (Exception e) {
-            log.error("Error serving file: {}", filename, e);
-            return ResponseEntity.internalServerError().build();
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+}
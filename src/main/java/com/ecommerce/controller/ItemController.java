@@ -2,7 +2,11 @@ package com.ecommerce.controller;
 
 import com.ecommerce.dto.ApiResponse;
 import com.ecommerce.model.Item;
+import com.ecommerce.service.FileStorageService;
+import com.ecommerce.service.ImageVariantService;
 import com.ecommerce.service.ItemService;
+import com.ecommerce.service.ResponseCacheService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
@@ -13,11 +17,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -27,6 +35,9 @@ import java.util.UUID;
 public class ItemController {
 
     private final ItemService itemService;
+    private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ResponseCacheService responseCacheService;
 
     @PostMapping("/add")
     public ResponseEntity<ApiResponse> addItem(
@@ -36,11 +47,12 @@ public class ItemController {
             @RequestParam("itemQuantity") Integer itemQuantity,
             @RequestParam("itemCategory") String itemCategory,
             @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "imageHandle", required = false) String imageHandle,
             Authentication authentication) {
         try {
             String adminEmail = authentication.getName();
             ApiResponse response = itemService.addItem(itemName, description, itemCost,
-                    itemQuantity, itemCategory, adminEmail, file);
+                    itemQuantity, itemCategory, adminEmail, file, imageHandle);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Failed to add item", e);
@@ -49,11 +61,34 @@ public class ItemController {
         }
     }
 
+    // Raw image body (not multipart), written to storage in a single pass.
+    // The returned imageHandle can be passed to /add or /update instead of a file.
+    @PostMapping("/upload")
+    public ResponseEntity<ApiResponse> uploadImage(HttpServletRequest request) {
+        try (InputStream in = request.getInputStream()) {
+            String handle = fileStorageService.storeUpload(in, request.getContentLengthLong());
+            imageVariantService.generateAllAsync(handle);
+            return ResponseEntity.ok(new ApiResponse(true, "Image uploaded successfully",
+                    Map.of("imageHandle", handle)));
+        } catch (MaxUploadSizeExceededException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new ApiResponse(false, "Image exceeds the maximum size of "
+                            + e.getMaxUploadSize() + " bytes"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body(new ApiResponse(false, e.getMessage()));
+        } catch (IOException e) {
+            log.error("Failed to upload image", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Failed to upload image"));
+        }
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<?> getAllItems() {
+    public ResponseEntity<?> getAllItems(HttpServletRequest request) {
         try {
-            List<Item> items = itemService.getAllItems();
-            return ResponseEntity.ok(new ApiResponse(true, "Items fetched successfully", items));
+            return responseCacheService.respond(ResponseCacheService.ITEMS, "all", request,
+                    () -> new ApiResponse(true, "Items fetched successfully", itemService.getAllItems()));
         } catch (Exception e) {
             log.error("Failed to fetch items", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -75,10 +110,11 @@ public class ItemController {
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<?> getItemsByCategory(@PathVariable String category) {
+    public ResponseEntity<?> getItemsByCategory(@PathVariable String category, HttpServletRequest request) {
         try {
-            List<Item> items = itemService.getItemsByCategory(category);
-            return ResponseEntity.ok(new ApiResponse(true, "Items fetched successfully", items));
+            return responseCacheService.respond(ResponseCacheService.ITEMS, "category:" + category, request,
+                    () -> new ApiResponse(true, "Items fetched successfully",
+                            itemService.getItemsByCategory(category)));
         } catch (Exception e) {
             log.error("Failed to fetch items", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -87,15 +123,9 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getItemById(@PathVariable UUID id) {
-        try {
-            Item item = itemService.getItemById(id);
-            return ResponseEntity.ok(new ApiResponse(true, "Item fetched successfully", item));
-        } catch (Exception e) {
-            log.error("Failed to fetch item", e);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ApiResponse(false, "Item not found"));
-        }
+    public ResponseEntity<?> getItemById(@PathVariable UUID id, HttpServletRequest request) {
+        return responseCacheService.respond(ResponseCacheService.ITEMS, "id:" + id, request,
+                () -> new ApiResponse(true, "Item fetched successfully", itemService.getItemById(id)));
     }
 
     @GetMapping("/search")
@@ -119,11 +149,12 @@ public class ItemController {
             @RequestParam("itemQuantity") Integer itemQuantity,
             @RequestParam("itemCategory") String itemCategory,
             @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "imageHandle", required = false) String imageHandle,
             Authentication authentication) {
         try {
             String adminEmail = authentication.getName();
             ApiResponse response = itemService.updateItem(id, itemName, description, itemCost,
-                    itemQuantity, itemCategory, adminEmail, file);
+                    itemQuantity, itemCategory, adminEmail, file, imageHandle);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Failed to update item", e);
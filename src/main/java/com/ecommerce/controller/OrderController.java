@@ -4,15 +4,20 @@ import com.ecommerce.dto.ApiResponse;
 import com.ecommerce.dto.OrderRequest;
 import com.ecommerce.model.Order;
 import com.ecommerce.service.OrderService;
+import com.ecommerce.service.OrderStreamService;
 import com.razorpay.RazorpayException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +28,7 @@ import java.util.Map;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStreamService orderStreamService;
 
     @PostMapping("/create")
     public ResponseEntity<?> createOrder(@RequestBody OrderRequest orderRequest) {
@@ -77,25 +83,29 @@ public class OrderController {
         }
     }
 
+    // Status changes of the caller's orders as Server-Sent Events, instead of polling my-orders
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamOrderStatus(Authentication authentication,
+                                  @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Stops nginx from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        orderStreamService.subscribe(authentication.getName(), lastEventId, request, response);
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<?> getOrderById(@PathVariable Long orderId,
                                           Authentication authentication) {
-        try {
-            Order order = orderService.getOrderById(orderId);
-            String userEmail = authentication.getName();
+        Order order = orderService.getOrderById(orderId);
+        String userEmail = authentication.getName();
 
-            // Check if user owns this order
-            if (!order.getPaymentBy().equals(userEmail)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(new ApiResponse(false, "Unauthorized access"));
-            }
-
-            return ResponseEntity.ok(new ApiResponse(true, "Order fetched successfully", order));
-        } catch (Exception e) {
-            log.error("Failed to fetch order", e);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ApiResponse(false, "Order not found"));
+        // Check if user owns this order
+        if (!order.getPaymentBy().equals(userEmail)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse(false, "Unauthorized access"));
         }
+
+        return ResponseEntity.ok(new ApiResponse(true, "Order fetched successfully", order));
     }
 
     @GetMapping("/all")
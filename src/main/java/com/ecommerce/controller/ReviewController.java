@@ -2,7 +2,9 @@ package com.ecommerce.controller;
 
 import com.ecommerce.dto.ApiResponse;
 import com.ecommerce.model.Review;
+import com.ecommerce.service.ResponseCacheService;
 import com.ecommerce.service.ReviewService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -21,6 +23,7 @@ import java.util.UUID;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final ResponseCacheService responseCacheService;
 
     @PostMapping("/add")
     public ResponseEntity<ApiResponse> addReview(@RequestBody Map<String, Object> request,
@@ -41,10 +44,11 @@ public class ReviewController {
     }
 
     @GetMapping("/item/{itemId}")
-    public ResponseEntity<?> getReviewsByItemId(@PathVariable UUID itemId) {
+    public ResponseEntity<?> getReviewsByItemId(@PathVariable UUID itemId, HttpServletRequest request) {
         try {
-            List<Review> reviews = reviewService.getReviewsByItemId(itemId);
-            return ResponseEntity.ok(new ApiResponse(true, "Reviews fetched successfully", reviews));
+            return responseCacheService.respond(ResponseCacheService.REVIEWS, "item:" + itemId, request,
+                    () -> new ApiResponse(true, "Reviews fetched successfully",
+                            reviewService.getReviewsByItemId(itemId)));
         } catch (Exception e) {
             log.error("Failed to fetch reviews", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -53,27 +53,15 @@ public class UserController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        try {
-            AuthResponse response = userService.login(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Login failed", e);
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new ApiResponse(false, e.getMessage()));
-        }
+        AuthResponse response = userService.login(request);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/profile")
     public ResponseEntity<?> getProfile(Authentication authentication) {
-        try {
-            String email = authentication.getName();
-            User user = userService.getUserByEmail(email);
-            return ResponseEntity.ok(new ApiResponse(true, "Profile fetched", user));
-        } catch (Exception e) {
-            log.error("Failed to fetch profile", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse(false, "Failed to fetch profile"));
-        }
+        String email = authentication.getName();
+        User user = userService.getUserByEmail(email);
+        return ResponseEntity.ok(new ApiResponse(true, "Profile fetched", user));
     }
 
     @PostMapping("/forgot-password")
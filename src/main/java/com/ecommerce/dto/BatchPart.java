@@ -0,0 +1,11 @@
+package com.ecommerce.dto;
+
+import lombok.Data;
+
+@Data
+public class BatchPart {
+    // Echoed back so clients can match results without relying on their order
+    private String id;
+    // GET route with its query string, e.g. /api/items/search?query=lamp
+    private String path;
+}
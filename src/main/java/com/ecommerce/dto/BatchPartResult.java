@@ -0,0 +1,18 @@
+package com.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPartResult {
+    private String id;
+    private String path;
+    private int status;
+    // The part's response body as rendered by its own endpoint, embedded as JSON
+    @JsonRawValue
+    private String body;
+}
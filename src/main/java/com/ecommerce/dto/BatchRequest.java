@@ -0,0 +1,10 @@
+package com.ecommerce.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequest {
+    private List<BatchPart> requests;
+}
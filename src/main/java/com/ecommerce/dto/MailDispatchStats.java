@@ -0,0 +1,21 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailDispatchStats {
+    private int queueDepth;
+    private int queueCapacity;
+    private long sent;
+    private long connectionsOpened;
+    private long failedAttempts;
+    private long retried;
+    private long deadLettered;
+    private long rejected;
+    private double avgSendLatencyMs;
+    private double maxSendLatencyMs;
+}
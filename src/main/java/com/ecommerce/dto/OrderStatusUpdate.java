@@ -0,0 +1,21 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdate {
+    private Long orderId;
+    private UUID itemId;
+    private String itemName;
+    private BigDecimal total;
+    private String status;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryMethodStats {
+    private String method;
+    private long calls;
+    private long errors;
+    private double avgMs;
+    private double maxMs;
+    private long statements;
+    private long rowsReturned;
+    private Map<String, Long> latencyHistogram;
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class AuthenticationFailedException extends DomainException {
+
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+}
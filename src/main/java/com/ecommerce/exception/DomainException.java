@@ -0,0 +1,18 @@
+package com.ecommerce.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Expected outcome of a request (missing record, bad credentials), as opposed
+ * to a fault. The stack trace is never filled in: these are thrown on routine
+ * traffic and the call site is already known from the type and message.
+ * GlobalExceptionHandler maps them to {@link #getStatus()} with the message as body.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+}
@@ -3,11 +3,15 @@ package com.ecommerce.exception;
 import com.ecommerce.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +37,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    // Expected failures: no stack trace was captured and none is logged
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ApiResponse> handleDomainException(DomainException ex) {
+        log.debug("{} {}: {}", ex.getStatus().value(), ex.getClass().getSimpleName(), ex.getMessage());
+        // Preset so the error is still written as JSON to clients that only accept text/event-stream
+        return ResponseEntity.status(ex.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
+    // Malformed path ids (e.g. /api/items/not-a-uuid) are client errors, not faults
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        log.debug("400 invalid value for {}: {}", ex.getName(), ex.getValue());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse(false, "Invalid " + ex.getName()));
+    }
+
+    // Unknown URLs (probes, stale links) would otherwise land in the 500 handler below
+    @ExceptionHandler({NoResourceFoundException.class, NoHandlerFoundException.class})
+    public ResponseEntity<ApiResponse> handleNoHandler(Exception ex) {
+        log.debug("404 {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse(false, "Not found"));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime exception occurred", ex);
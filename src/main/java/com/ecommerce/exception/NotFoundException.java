@@ -0,0 +1,15 @@
+package com.ecommerce.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class NotFoundException extends DomainException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyStreamsException extends DomainException {
+
+    public TooManyStreamsException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
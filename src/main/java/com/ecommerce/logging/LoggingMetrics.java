@@ -0,0 +1,34 @@
+package com.ecommerce.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters shared by the logging pipeline. Appenders and turbo filters are
+ * created by Logback rather than Spring, so these are static.
+ */
+public final class LoggingMetrics {
+
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+
+    private LoggingMetrics() {
+    }
+
+    static void dropped() {
+        DROPPED.increment();
+    }
+
+    static void sampledOut() {
+        SAMPLED_OUT.increment();
+    }
+
+    // Events discarded because the async queue was full
+    public static long getDropped() {
+        return DROPPED.sum();
+    }
+
+    // Events suppressed by per-logger sampling
+    public static long getSampledOut() {
+        return SAMPLED_OUT.sum();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * %m / %msg for pattern layouts, with {@link Redactor} applied.
+ */
+public class RedactingMessageConverter extends MessageConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return Redactor.redact(event.getFormattedMessage());
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.logging;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Masks secrets that end up in log messages: JWTs, bearer tokens, OTP codes and
+ * token/password/secret values. Messages without a trigger word skip the regexes.
+ */
+public final class Redactor {
+
+    private static final Pattern TRIGGER = Pattern.compile("(?i)otp|token|bearer|password|secret|eyJ");
+
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]*");
+    private static final Pattern BEARER = Pattern.compile("(?i)(bearer\\s+)\\S+");
+    private static final Pattern OTP = Pattern.compile("(?i)(\\botp\\b[^0-9\\n]{0,30})\\d{4,8}");
+    private static final Pattern KEY_VALUE = Pattern.compile("(?i)\\b(token|password|secret)(\\s*[:=]\\s*)[^\\s,;]+");
+
+    private Redactor() {
+    }
+
+    public static String redact(String message) {
+        if (message == null || !TRIGGER.matcher(message).find()) {
+            return message;
+        }
+        String result = JWT.matcher(message).replaceAll("[REDACTED]");
+        result = BEARER.matcher(result).replaceAll("$1[REDACTED]");
+        result = OTP.matcher(result).replaceAll(match -> Matcher.quoteReplacement(match.group(1)) + "******");
+        return KEY_VALUE.matcher(result).replaceAll("$1$2[REDACTED]");
+    }
+}
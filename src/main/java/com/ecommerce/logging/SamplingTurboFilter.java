@@ -0,0 +1,52 @@
+package com.ecommerce.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in N events from configured high-frequency loggers, e.g.
+ * {@code <sample>com.ecommerce.security.JwtAuthenticationFilter=100</sample>}.
+ * ERROR events are always kept.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private record Rule(long every, AtomicLong counter) {
+    }
+
+    // Fixed once started, so lookups need no locking
+    private final Map<String, Rule> rules = new HashMap<>();
+
+    public void addSample(String spec) {
+        int separator = spec.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("Sample must be <logger>=<one in N>: " + spec);
+            return;
+        }
+        long every = Long.parseLong(spec.substring(separator + 1).trim());
+        rules.put(spec.substring(0, separator).trim(), new Rule(Math.max(1, every), new AtomicLong()));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.ERROR)) {
+            return FilterReply.NEUTRAL;
+        }
+        Rule rule = rules.get(logger.getName());
+        // Only count events the logger would actually emit
+        if (rule == null || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (rule.counter().getAndIncrement() % rule.every() == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        LoggingMetrics.sampledOut();
+        return FilterReply.DENY;
+    }
+}
@@ -6,13 +6,19 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Table(name = "admin_details")
 @Data
 @NoArgsConstructor
@@ -30,6 +36,7 @@ public class Admin {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
+    @NaturalId
     @Column(name = "admin_email", nullable = false, unique = true)
     private String adminEmail;
 
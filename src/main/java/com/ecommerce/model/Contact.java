@@ -18,7 +18,9 @@ import java.time.LocalDateTime;
 public class Contact {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "contact_id")
+    @TableGenerator(name = "contact_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "contact_details", allocationSize = 50)
     @Column(name = "contact_id")
     private Long contactId;
 
@@ -17,8 +17,11 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Order {
 
+    // Ids are reserved 50 at a time so inserts can be JDBC-batched (IDENTITY forces one INSERT per flush)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id")
+    @TableGenerator(name = "order_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = 50)
     @Column(name = "order_id")
     private Long orderId;
 
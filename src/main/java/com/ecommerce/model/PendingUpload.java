@@ -0,0 +1,25 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "pending_uploads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingUpload {
+
+    @Id
+    @Column(name = "filename")
+    private String filename;
+
+    // Epoch millis of the latest upload of this image
+    @Column(name = "created_at", nullable = false)
+    private Long createdAt;
+}
@@ -1,14 +1,17 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.model.Admin;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AdminRepository extends JpaRepository<Admin, UUID> {
-    Optional<Admin> findByAdminEmail(String adminEmail);
+public interface AdminRepository extends JpaRepository<Admin, UUID>, AdminRepositoryCustom {
+    // Cached result, invalidated by any write to admin_details
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByAdminEmail(String adminEmail);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.Admin;
+
+import java.util.Optional;
+
+public interface AdminRepositoryCustom {
+    Optional<Admin> findByAdminEmail(String adminEmail);
+
+    Optional<Admin> findByAdminEmailFromDatabase(String adminEmail);
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.Admin;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class AdminRepositoryImpl implements AdminRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    // Resolved through the natural-id and entity caches instead of a JPQL query
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Admin> findByAdminEmail(String adminEmail) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Admin.class)
+                .loadOptional(adminEmail);
+    }
+
+    // Skips the node-local second-level cache, as UserRepositoryImpl does for credential checks and updates
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Admin> findByAdminEmailFromDatabase(String adminEmail) {
+        Optional<Admin> admin = entityManager
+                .createQuery("select a from Admin a where a.adminEmail = :adminEmail", Admin.class)
+                .setParameter("adminEmail", adminEmail)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()
+                .findFirst();
+        admin.ifPresent(found -> entityManager.getEntityManagerFactory().getCache().evict(Admin.class, found.getAdminId()));
+        return admin;
+    }
+}
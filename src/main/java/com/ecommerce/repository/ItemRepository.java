@@ -2,21 +2,30 @@ package com.ecommerce.repository;
 
 import com.ecommerce.model.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, UUID> {
-    List<Item> findByAddedBy(String addedBy);
-    List<Item> findByItemCategory(String itemCategory);
+    List<Item> findByAddedByOrderByCreatedAtDesc(String addedBy);
+    List<Item> findByItemCategoryOrderByCreatedAtDesc(String itemCategory);
 
     @Query("SELECT i FROM Item i WHERE " +
             "LOWER(i.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(i.itemCategory) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Item> searchItems(@Param("keyword") String keyword);
+
+    long countByImgname(String imgname);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.imgname = :newName WHERE i.imgname = :oldName")
+    int renameImage(@Param("oldName") String oldName, @Param("newName") String newName);
 }
\ No newline at end of file
@@ -8,5 +8,5 @@ import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByPaymentBy(String paymentBy);
+    List<Order> findByPaymentByOrderByCreatedAtDesc(String paymentBy);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.PendingUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, String> {
+
+    List<PendingUpload> findByCreatedAtBefore(Long cutoff);
+
+    // Zero if the image was uploaded again since it was found expired
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PendingUpload p WHERE p.filename = :filename AND p.createdAt < :cutoff")
+    int deleteExpired(@Param("filename") String filename, @Param("cutoff") Long cutoff);
+}
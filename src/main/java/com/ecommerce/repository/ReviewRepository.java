@@ -9,5 +9,5 @@ import java.util.UUID;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByItemId(UUID itemId);
+    List<Review> findByItemIdOrderByCreatedAtDesc(UUID itemId);
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByUseremail(String useremail);
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
+    // Answered from the query cache until the table changes, so repeated checks for
+    // unknown emails (signups, resets) do not reach the database
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByUseremail(String useremail);
 }
\ No newline at end of file
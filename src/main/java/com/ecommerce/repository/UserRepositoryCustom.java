@@ -0,0 +1,11 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByUseremail(String useremail);
+
+    Optional<User> findByUseremailFromDatabase(String useremail);
+}
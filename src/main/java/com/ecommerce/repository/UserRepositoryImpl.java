@@ -0,0 +1,41 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    // Resolved through the natural-id and entity caches instead of a JPQL query
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUseremail(String useremail) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(useremail);
+    }
+
+    // The second-level cache is node-local, so another node may still hold the row as it was before a
+    // password change; credential checks and updates read it from the database and drop this node's copy
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUseremailFromDatabase(String useremail) {
+        Optional<User> user = entityManager
+                .createQuery("select u from User u where u.useremail = :useremail", User.class)
+                .setParameter("useremail", useremail)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()
+                .findFirst();
+        user.ifPresent(found -> entityManager.getEntityManagerFactory().getCache().evict(User.class, found.getUserId()));
+        return user;
+    }
+}
@@ -0,0 +1,297 @@
+package com.ecommerce.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Ring of asymmetric JWT signing keys, shared by every node through the
+ * jwt_signing_keys table so a token signed on one node verifies on all of them
+ * and survives restarts. New tokens are signed with the newest key; older keys
+ * stay verifiable until every token they signed has expired, so a rotation
+ * never logs anyone out. Private keys are stored encrypted with
+ * jwt.key-encryption-secret, which comes from the environment, not the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyRing {
+
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey,
+                             PublicJwk<?> jwk, long createdAt, Long retireAt) {
+    }
+
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    // Floor between reloads triggered by unknown kids, so forged kids cannot hammer the database
+    private static final long MIN_RELOAD_INTERVAL_MS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.algorithm:ES256}")
+    private String algorithm;
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    @Value("${jwt.key-rotation-interval:86400000}")
+    private long rotationInterval;
+
+    @Value("${jwt.key-encryption-secret:}")
+    private String encryptionSecret;
+
+    private final SecureRandom random = new SecureRandom();
+    private SecretKey encryptionKey;
+
+    // kid -> key, so verification is a single map lookup; replaced wholesale on every reload
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private volatile SigningKey activeKey;
+    private volatile String jwksJson = "{\"keys\":[]}";
+    private final AtomicLong lastReload = new AtomicLong();
+
+    // Not synchronized: rotation does database I/O, and a monitor held by a virtual thread pins its carrier
+    private final ReentrantLock rotationLock = new ReentrantLock();
+    private long asymmetricSince;
+
+    @PostConstruct
+    public void init() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        if (encryptionSecret == null || encryptionSecret.isBlank()) {
+            // Existing deployments keep working on jwt.secret until they opt in
+            log.warn("jwt.algorithm={} needs jwt.key-encryption-secret (JWT_KEY_ENCRYPTION_SECRET), which is not set;"
+                    + " signing with HS256 until it is. Set the same secret on every node to switch to the key ring.",
+                    algorithm);
+            algorithm = "HS256";
+            return;
+        }
+        encryptionKey = new SecretKeySpec(sha256(encryptionSecret), "AES");
+        asymmetricSince = recordSwitch();
+        reload();
+        if (rotationDue()) {
+            rotate();
+        }
+    }
+
+    public boolean isAsymmetric() {
+        return !"HS256".equalsIgnoreCase(algorithm);
+    }
+
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return "EdDSA".equalsIgnoreCase(algorithm) ? Jwts.SIG.EdDSA : Jwts.SIG.ES256;
+    }
+
+    // When the deployment switched to the ring; tokens signed with jwt.secret before then still need a grace period
+    public long getAsymmetricSince() {
+        return asymmetricSince;
+    }
+
+    public SigningKey getActiveKey() {
+        return activeKey;
+    }
+
+    public PublicKey getPublicKey(String kid) {
+        SigningKey key = keys.get(kid);
+        if (key == null && isAsymmetric()) {
+            // Most likely rotated on another node since our last refresh; one request reloads, no lock held
+            long last = lastReload.get();
+            if (System.currentTimeMillis() - last >= MIN_RELOAD_INTERVAL_MS
+                    && lastReload.compareAndSet(last, System.currentTimeMillis())) {
+                reload();
+            }
+            key = keys.get(kid);
+        }
+        if (key == null || (key.retireAt() != null && key.retireAt() <= System.currentTimeMillis())) {
+            return null;
+        }
+        return key.publicKey();
+    }
+
+    public String getJwksJson() {
+        return jwksJson;
+    }
+
+    // Every node checks; whichever finds the newest key too old rotates it for all of them
+    @Scheduled(fixedDelayString = "${jwt.key-refresh-interval:60000}",
+            initialDelayString = "${jwt.key-refresh-interval:60000}")
+    public void refresh() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        reload();
+        if (rotationDue()) {
+            rotate();
+        }
+    }
+
+    public void rotate() {
+        rotationLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            SignatureAlgorithm signatureAlgorithm = getSignatureAlgorithm();
+
+            KeyPair pair = signatureAlgorithm == Jwts.SIG.EdDSA
+                    ? Jwks.CRV.Ed25519.keyPair().build()
+                    : Jwts.SIG.ES256.keyPair().build();
+            String kid = jwk(pair.getPublic(), signatureAlgorithm).getId();
+            byte[] privateKey = encrypt(kid, pair.getPrivate().getEncoded());
+
+            // One transaction, so other nodes never see older keys retired without the new one in place
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO jwt_signing_keys "
+                                + "(kid, algorithm, public_key, private_key, created_at) VALUES (?, ?, ?, ?, ?)",
+                        kid, signatureAlgorithm.getId(), pair.getPublic().getEncoded(), privateKey, now);
+
+                // Older keys keep verifying until the last token they signed expires. Only keys older than
+                // this one are retired, so two nodes rotating at once still leave the newest key active.
+                jdbcTemplate.update("UPDATE jwt_signing_keys SET retire_at = ? "
+                                + "WHERE retire_at IS NULL AND created_at < ?",
+                        now + expiration, now);
+                jdbcTemplate.update("DELETE FROM jwt_signing_keys WHERE retire_at <= ?", now);
+            });
+
+            reload();
+            log.info("JWT signing key rotated, active kid: {}, keys in ring: {}", activeKey.kid(), keys.size());
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private void reload() {
+        long now = System.currentTimeMillis();
+        List<SigningKey> loaded = jdbcTemplate.query(
+                "SELECT kid, algorithm, public_key, private_key, created_at, retire_at FROM jwt_signing_keys "
+                        + "WHERE retire_at IS NULL OR retire_at > ?",
+                (rs, rowNum) -> toSigningKey(rs), now);
+
+        Map<String, SigningKey> byKid = new HashMap<>();
+        loaded.forEach(key -> byKid.put(key.kid(), key));
+        keys = Map.copyOf(byKid);
+        activeKey = loaded.stream()
+                .max(Comparator.comparingLong(SigningKey::createdAt).thenComparing(SigningKey::kid))
+                .orElse(null);
+        jwksJson = loaded.stream()
+                .map(key -> Jwks.json(key.jwk()))
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+        lastReload.set(now);
+    }
+
+    // The first node to start with the ring records the switch for all of them; a ring that already
+    // had keys before this was tracked dates the switch from its oldest key
+    private long recordSwitch() {
+        try {
+            jdbcTemplate.update("INSERT INTO jwt_key_ring_state (id, asymmetric_since) "
+                            + "SELECT 1, COALESCE((SELECT MIN(created_at) FROM jwt_signing_keys), ?) FROM DUAL "
+                            + "WHERE NOT EXISTS (SELECT 1 FROM jwt_key_ring_state WHERE id = 1)",
+                    System.currentTimeMillis());
+        } catch (DuplicateKeyException e) {
+            // Another node recorded it at the same moment
+        }
+        return jdbcTemplate.queryForObject("SELECT asymmetric_since FROM jwt_key_ring_state WHERE id = 1", Long.class);
+    }
+
+    private boolean rotationDue() {
+        return activeKey == null
+                || activeKey.algorithm() != getSignatureAlgorithm()
+                || System.currentTimeMillis() - activeKey.createdAt() >= rotationInterval;
+    }
+
+    private SigningKey toSigningKey(ResultSet rs) throws SQLException {
+        String kid = rs.getString("kid");
+        SignatureAlgorithm signatureAlgorithm = Jwts.SIG.EdDSA.getId().equals(rs.getString("algorithm"))
+                ? Jwts.SIG.EdDSA
+                : Jwts.SIG.ES256;
+        long retireAt = rs.getLong("retire_at");
+        Long retire = rs.wasNull() ? null : retireAt;
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(signatureAlgorithm == Jwts.SIG.EdDSA ? "Ed25519" : "EC");
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(rs.getBytes("public_key")));
+            PrivateKey privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decrypt(kid, rs.getBytes("private_key"))));
+            return new SigningKey(kid, signatureAlgorithm, privateKey, publicKey,
+                    jwk(publicKey, signatureAlgorithm), rs.getLong("created_at"), retire);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load JWT signing key " + kid
+                    + "; check jwt.key-encryption-secret", e);
+        }
+    }
+
+    private static PublicJwk<?> jwk(PublicKey publicKey, SignatureAlgorithm signatureAlgorithm) {
+        return Jwks.builder()
+                .key(publicKey)
+                .idFromThumbprint()
+                .publicKeyUse("sig")
+                .algorithm(signatureAlgorithm.getId())
+                .build();
+    }
+
+    // AES-GCM with the kid as associated data, stored as iv || ciphertext
+    private byte[] encrypt(String kid, byte[] plaintext) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt JWT signing key", e);
+        }
+    }
+
+    private byte[] decrypt(String kid, byte[] stored) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_IV_BYTES));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(Arrays.copyOfRange(stored, GCM_IV_BYTES, stored.length));
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.ReadWriteRoutingDataSource;
 import com.ecommerce.dto.ApiResponse;
 import com.ecommerce.dto.AuthResponse;
 import com.ecommerce.dto.LoginRequest;
 import com.ecommerce.dto.SignupRequest;
+import com.ecommerce.exception.AuthenticationFailedException;
+import com.ecommerce.exception.NotFoundException;
 import com.ecommerce.model.Admin;
 import com.ecommerce.repository.AdminRepository;
 import com.ecommerce.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +30,7 @@ public class AdminService {
     private final AdminRepository adminRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    @Lazy
     private final EmailService emailService;
 
     @Value("${admin.authorized.email}")
@@ -48,7 +53,7 @@ public class AdminService {
             // Generate token for approval
             String token = UUID.randomUUID().toString();
             pendingAdmins.put(token, request);
-            log.info("Admin registration token generated: {}", token);
+            log.info("Admin registration token generated for: {}", request.getEmail());
 
             // Send approval email to authorized admin
             String confirmUrl = baseUrl + "/admin/confirm/" + token;
@@ -149,42 +154,46 @@ public class AdminService {
     }
 
     public AuthResponse login(LoginRequest request) {
-        try {
-            log.info("Admin login attempt for email: {}", request.getEmail());
+        log.info("Admin login attempt for email: {}", request.getEmail());
 
-            Optional<Admin> adminOptional = adminRepository.findByAdminEmail(request.getEmail());
+        // Login is anonymous, so read-your-writes does not cover an account approved moments ago; the
+        // cached entity is skipped too, since another node may have changed the password since
+        Optional<Admin> adminOptional = ReadWriteRoutingDataSource.onPrimary(
+                () -> adminRepository.findByAdminEmailFromDatabase(request.getEmail()));
 
-            if (adminOptional.isEmpty()) {
-                log.warn("Admin not found with email: {}", request.getEmail());
-                throw new RuntimeException("Invalid email or password");
-            }
+        if (adminOptional.isEmpty()) {
+            log.warn("Admin not found with email: {}", request.getEmail());
+            throw new AuthenticationFailedException("Invalid email or password");
+        }
 
-            Admin admin = adminOptional.get();
+        Admin admin = adminOptional.get();
 
-            if (!admin.getIsApproved()) {
-                log.warn("Admin account not approved: {}", request.getEmail());
-                throw new RuntimeException("Admin account is not approved yet");
-            }
+        if (!admin.getIsApproved()) {
+            log.warn("Admin account not approved: {}", request.getEmail());
+            throw new AuthenticationFailedException("Admin account is not approved yet");
+        }
 
-            if (!passwordEncoder.matches(request.getPassword(), admin.getAdminPassword())) {
-                log.warn("Invalid password for admin email: {}", request.getEmail());
-                throw new RuntimeException("Invalid email or password");
-            }
+        if (!passwordEncoder.matches(request.getPassword(), admin.getAdminPassword())) {
+            log.warn("Invalid password for admin email: {}", request.getEmail());
+            throw new AuthenticationFailedException("Invalid email or password");
+        }
 
-            // IMPORTANT: Pass "ADMIN" as the role, NOT "ROLE_ADMIN"
-            String token = jwtUtil.generateToken(admin.getAdminEmail(), "ADMIN");
-            log.info("Admin login successful: {}, Token contains role: ADMIN", request.getEmail());
+        // IMPORTANT: Pass "ADMIN" as the role, NOT "ROLE_ADMIN"
+        String token = jwtUtil.generateToken(admin.getAdminEmail(), "ADMIN");
+        log.info("Admin login successful: {}, Token contains role: ADMIN", request.getEmail());
 
-            return new AuthResponse(token, admin.getAdminEmail(), admin.getAdminUsername());
-        } catch (Exception e) {
-            log.error("Admin login failed for email: {}", request.getEmail(), e);
-            throw e;
-        }
+        return new AuthResponse(token, admin.getAdminEmail(), admin.getAdminUsername());
     }
 
     public Admin getAdminByEmail(String email) {
         return adminRepository.findByAdminEmail(email)
-                .orElseThrow(() -> new RuntimeException("Admin not found"));
+                .orElseThrow(() -> new NotFoundException("Admin not found"));
+    }
+
+    // Updates start from the database row, so a stale cached copy never writes an old password back
+    private Admin getAdminForUpdate(String email) {
+        return adminRepository.findByAdminEmailFromDatabase(email)
+                .orElseThrow(() -> new NotFoundException("Admin not found"));
     }
 
     @Transactional
@@ -192,7 +201,7 @@ public class AdminService {
         try {
             log.info("Admin profile update for email: {}", email);
 
-            Admin admin = getAdminByEmail(email);
+            Admin admin = getAdminForUpdate(email);
             admin.setAdminUsername(username);
             admin.setAddress(address);
             admin.setPhone(phone);
@@ -211,7 +220,7 @@ public class AdminService {
         try {
             log.info("Admin password reset for email: {}", email);
 
-            Admin admin = getAdminByEmail(email);
+            Admin admin = getAdminForUpdate(email);
             admin.setAdminPassword(passwordEncoder.encode(newPassword));
             adminRepository.save(admin);
 
@@ -0,0 +1,211 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.dto.BatchPart;
+import com.ecommerce.dto.BatchPartResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the parts of a /api/batch request: GETs against the existing /api routes,
+ * dispatched straight to the DispatcherServlet on a bounded worker pool, so the
+ * batch pays for TLS, JWT verification and the filter chain once. Each part is
+ * still checked against SecurityConfig's rules for its own path before it runs,
+ * and runs as the batch's caller, so method security applies as well.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchService {
+
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+    private final DispatcherServlet dispatcherServlet;
+    private final SecurityFilterChain securityFilterChain;
+    private final ObjectMapper objectMapper;
+
+    @Value("${batch.max-parts:10}")
+    private int maxParts;
+
+    @Value("${batch.workers:8}")
+    private int workers;
+
+    @Value("${batch.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${batch.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final LongAdder rejected = new LongAdder();
+    private AuthorizationManager<HttpServletRequest> authorizationManager;
+    private ThreadPoolExecutor workerPool;
+
+    @PostConstruct
+    public void start() {
+        // The rules from SecurityConfig.authorizeHttpRequests, as the filter chain applies them
+        authorizationManager = securityFilterChain.getFilters().stream()
+                .filter(AuthorizationFilter.class::isInstance)
+                .map(filter -> ((AuthorizationFilter) filter).getAuthorizationManager())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No AuthorizationFilter in the security filter chain"));
+        workerPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("batch-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        workerPool.shutdownNow();
+    }
+
+    public int getMaxParts() {
+        return maxParts;
+    }
+
+    public int getQueued() {
+        return workerPool.getQueue().size();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public List<BatchPartResult> execute(List<BatchPart> parts, HttpServletRequest request,
+                                         HttpServletResponse response) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Authentication authentication = securityContext.getAuthentication();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        List<Future<BatchPartResult>> pending = new ArrayList<>(parts.size());
+        for (BatchPart part : parts) {
+            pending.add(submit(part, request, response, securityContext, authentication, mdc));
+        }
+
+        // One deadline for the whole batch, so a slow part cannot hold it open for timeout-ms per part
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<BatchPartResult> results = new ArrayList<>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            BatchPart part = parts.get(i);
+            Future<BatchPartResult> future = pending.get(i);
+            try {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                results.add(error(part, HttpStatus.GATEWAY_TIMEOUT, "Timed out"));
+            } catch (ExecutionException e) {
+                log.error("Batch part {} failed", part.getPath(), e.getCause());
+                results.add(error(part, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                results.add(error(part, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted"));
+            }
+        }
+        return results;
+    }
+
+    private Future<BatchPartResult> submit(BatchPart part, HttpServletRequest request, HttpServletResponse response,
+                                           SecurityContext securityContext, Authentication authentication,
+                                           Map<String, String> mdc) {
+        String path = part.getPath();
+        if (path == null || !path.startsWith("/api/") || path.startsWith("/api/batch")
+                || path.contains("#") || path.contains("..")) {
+            return CompletableFuture.completedFuture(
+                    error(part, HttpStatus.BAD_REQUEST, "Path must be an /api GET route other than /api/batch"));
+        }
+
+        BatchPartServletRequest partRequest = new BatchPartServletRequest(request, path, authentication);
+        AuthorizationDecision decision = authorizationManager.check(() -> authentication, partRequest);
+        if (decision != null && !decision.isGranted()) {
+            // What the filter chain would have answered had the part been requested on its own
+            boolean anonymous = authentication == null || TRUST_RESOLVER.isAnonymous(authentication);
+            return CompletableFuture.completedFuture(anonymous
+                    ? error(part, HttpStatus.UNAUTHORIZED, "Unauthorized: Full authentication is required")
+                    : error(part, HttpStatus.FORBIDDEN, "Access denied"));
+        }
+
+        try {
+            return workerPool.submit(() -> dispatch(part, partRequest, response, securityContext, mdc));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.completedFuture(
+                    error(part, HttpStatus.SERVICE_UNAVAILABLE, "Too many batch requests, try again later"));
+        }
+    }
+
+    private BatchPartResult dispatch(BatchPart part, BatchPartServletRequest partRequest, HttpServletResponse response,
+                                     SecurityContext securityContext, Map<String, String> mdc) throws Exception {
+        SecurityContextHolder.setContext(securityContext);
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            BatchPartServletResponse partResponse = new BatchPartServletResponse(response);
+            dispatcherServlet.service(partRequest, partResponse);
+            return new BatchPartResult(part.getId(), part.getPath(), partResponse.getStatus(), body(partResponse));
+        } finally {
+            SecurityContextHolder.clearContext();
+            MDC.clear();
+        }
+    }
+
+    private String body(BatchPartServletResponse partResponse) throws JsonProcessingException {
+        String body = partResponse.getBodyAsString();
+        if (body.isEmpty()) {
+            return null;
+        }
+        String contentType = partResponse.getContentType();
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                    || (mediaType.getSubtypeSuffix() != null && mediaType.getSubtypeSuffix().equals("json"))) {
+                return body;
+            }
+        }
+        // Anything else (plain-text errors) goes in as a JSON string
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private BatchPartResult error(BatchPart part, HttpStatus status, String message) {
+        try {
+            return new BatchPartResult(part.getId(), part.getPath(), status.value(),
+                    objectMapper.writeValueAsString(new ApiResponse(false, message)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStats> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            regions.add(toStats(name, region));
+        }
+        return regions;
+    }
+
+    private static CacheRegionStats toStats(String name, CacheRegionStatistics region) {
+        if (region == null) {
+            return new CacheRegionStats(name, 0, 0, 0, 0);
+        }
+        long hits = region.getHitCount();
+        long total = hits + region.getMissCount();
+        return new CacheRegionStats(
+                name,
+                hits,
+                region.getMissCount(),
+                region.getPutCount(),
+                total == 0 ? 0 : (double) hits / total
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.exception.NotFoundException;
 import com.ecommerce.model.Contact;
 import com.ecommerce.repository.ContactRepository;
 import lombok.RequiredArgsConstructor;
@@ -40,7 +41,7 @@ public class ContactService {
 
     public Contact getContactById(Long contactId) {
         return contactRepository.findById(contactId)
-                .orElseThrow(() -> new RuntimeException("Contact not found with id: " + contactId));
+                .orElseThrow(() -> new NotFoundException("Contact not found"));
     }
 
     @Transactional
@@ -0,0 +1,57 @@
+package com.ecommerce.service;
+
+import com.ecommerce.util.EmailTemplate;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Stays eager while EmailService is lazy, so a broken template fails startup rather than the first email
+@Service
+@Slf4j
+public class EmailTemplateService {
+
+    @Value("${mail.templates.location:classpath:templates/email/}")
+    private String templatesLocation;
+
+    private Map<String, EmailTemplate> templates = Map.of();
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        Map<String, EmailTemplate> loaded = new HashMap<>();
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(templatesLocation + "*");
+
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null || !filename.contains(".")) {
+                continue;
+            }
+            String name = filename.substring(0, filename.lastIndexOf('.'));
+            boolean html = filename.endsWith(".html");
+
+            try (InputStream in = resource.getInputStream()) {
+                String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                loaded.put(name, EmailTemplate.compile(name, source, html));
+            }
+        }
+
+        templates = Map.copyOf(loaded);
+        log.info("Loaded {} email templates from {}", templates.size(), templatesLocation);
+    }
+
+    public String render(String name, Map<String, String> values) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Email template not found: " + name);
+        }
+        return template.render(values);
+    }
+}
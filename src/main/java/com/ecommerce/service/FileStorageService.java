@@ -1,65 +1,470 @@
 package com.ecommerce.service;
 
-import com.ecommerce.util.OtpUtil;
+import com.ecommerce.model.PendingUpload;
+import com.ecommerce.repository.ItemRepository;
+import com.ecommerce.repository.PendingUploadRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FileStorageService {
 
+    // <sha-256 hex>.<ext>, stored as ab/cd/<hash>.<ext>
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^[0-9a-f]{64}(\\.[a-z0-9]{1,10})?$");
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("^[a-z0-9]{1,10}$");
+    private static final String TEMP_DIR = ".tmp";
+    private static final String VARIANTS_DIR = "variants";
+    private static final int MAGIC_HEADER_LENGTH = 12;
+    private static final int UPLOAD_CHUNK_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
-    private final OtpUtil otpUtil;
+    @Value("${file.max-upload-bytes:10485760}")
+    private long maxUploadBytes;
 
-    public String storeFile(MultipartFile file) {
-        try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
+    @Value("${file.migrate-legacy-on-startup:true}")
+    private boolean migrateLegacyOnStartup;
 
-            // Generate unique filename
-            String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-            String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            String newFilename = otpUtil.generateOtp() + fileExtension;
+    @Value("${file.pending-upload-ttl-ms:86400000}")
+    private long pendingUploadTtlMs;
 
-            // Copy file to the target location
-            Path targetLocation = uploadPath.resolve(newFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    private final ItemRepository itemRepository;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final ImageCacheService imageCacheService;
 
-            log.info("File stored successfully: {}", newFilename);
-            return newFilename;
+    // Storing or attaching a file and deleting it are exclusive per file name
+    private final Lock[] locks = IntStream.range(0, LOCK_STRIPES)
+            .mapToObj(i -> new ReentrantLock())
+            .toArray(Lock[]::new);
+
+    // Files stored or attached by transactions that have not completed yet; the item
+    // row that will reference them is not visible to countByImgname until then
+    private final Map<String, Integer> pendingReferences = new ConcurrentHashMap<>();
+
+    public String storeFile(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return storeStream(in, file.getOriginalFilename());
         } catch (IOException e) {
             log.error("Failed to store file", e);
             throw new RuntimeException("Failed to store file", e);
         }
     }
 
+    public String storeStream(InputStream in, String originalFilename) throws IOException {
+        Path tempDir = Paths.get(uploadDir).resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+
+        // Hash while streaming to a temp file on the same filesystem, then move into place
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                Files.copy(digestIn, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String filename = contentAddressedName(HexFormat.of().formatHex(digest.digest()),
+                    extensionOf(originalFilename));
+            return commitTempFile(tempFile, filename, false);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    // Single pass from the request body to disk: validated, hashed and written chunk by chunk
+    public String storeUpload(InputStream in, long declaredLength) throws IOException {
+        if (declaredLength > maxUploadBytes) {
+            throw new MaxUploadSizeExceededException(maxUploadBytes);
+        }
+
+        Path tempDir = Paths.get(uploadDir).resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            String extension;
+            try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                byte[] header = in.readNBytes(MAGIC_HEADER_LENGTH);
+                extension = detectImageType(header);
+                if (extension == null) {
+                    throw new IllegalArgumentException("Unsupported image type");
+                }
+                digest.update(header);
+                writeFully(out, ByteBuffer.wrap(header));
+
+                long total = header.length;
+                byte[] chunk = new byte[UPLOAD_CHUNK_SIZE];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    total += read;
+                    if (total > maxUploadBytes) {
+                        throw new MaxUploadSizeExceededException(maxUploadBytes);
+                    }
+                    digest.update(chunk, 0, read);
+                    writeFully(out, ByteBuffer.wrap(chunk, 0, read));
+                }
+            }
+
+            String filename = contentAddressedName(HexFormat.of().formatHex(digest.digest()), extension);
+            return commitTempFile(tempFile, filename, true);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // Identifies the image from its leading bytes instead of trusting the client's name
+    private static String detectImageType(byte[] header) {
+        if (header.length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (header.length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return "png";
+        }
+        if (header.length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8'
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return "gif";
+        }
+        if (header.length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    // A pending upload is a handle no item references yet; it is kept until the sweep finds it expired
+    private String commitTempFile(Path tempFile, String filename, boolean pendingUpload) throws IOException {
+        Path target = loadFile(filename);
+        Lock lock = lockFor(filename);
+        lock.lock();
+        try {
+            imageCacheService.invalidate(filename);
+            holdUntilCompletion(filename);
+            if (pendingUpload) {
+                recordPendingUpload(filename);
+            }
+            if (Files.exists(target)) {
+                log.info("File already stored, reusing: {}", filename);
+                return filename;
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content stored concurrently, identical bytes by definition
+                log.debug("File stored concurrently: {}", filename);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        log.info("File stored successfully: {}", filename);
+        return filename;
+    }
+
+    /**
+     * Claims an already stored file for the current transaction, so it cannot be
+     * deleted before the item referencing it commits. False if there is no such file.
+     */
+    public boolean attach(String filename) {
+        if (!isContentAddressed(filename)) {
+            return false;
+        }
+        Lock lock = lockFor(filename);
+        lock.lock();
+        try {
+            if (!Files.isRegularFile(loadFile(filename))) {
+                return false;
+            }
+            holdUntilCompletion(filename);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the file's lock
+    private void holdUntilCompletion(String filename) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        pendingReferences.merge(filename, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Lock lock = lockFor(filename);
+                lock.lock();
+                try {
+                    pendingReferences.computeIfPresent(filename, (name, count) -> count > 1 ? count - 1 : null);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    // Caller holds the file's lock
+    private void recordPendingUpload(String filename) {
+        try {
+            pendingUploadRepository.save(new PendingUpload(filename, System.currentTimeMillis()));
+        } catch (DataIntegrityViolationException e) {
+            // The same image was just uploaded on another node, which stamped it already
+            log.debug("Pending upload recorded concurrently: {}", filename);
+        }
+    }
+
+    // Deletes uploaded images that no item took up within the TTL
+    @Scheduled(fixedDelayString = "${file.pending-upload-sweep-interval-ms:3600000}",
+            initialDelayString = "${file.pending-upload-sweep-interval-ms:3600000}")
+    public int sweepPendingUploads() {
+        long cutoff = System.currentTimeMillis() - pendingUploadTtlMs;
+        List<PendingUpload> expired = pendingUploadRepository.findByCreatedAtBefore(cutoff);
+        int swept = 0;
+        for (PendingUpload upload : expired) {
+            String filename = upload.getFilename();
+            Lock lock = lockFor(filename);
+            lock.lock();
+            try {
+                // Uploaded again since the query, or already swept by another node
+                if (pendingUploadRepository.deleteExpired(filename, cutoff) == 0) {
+                    continue;
+                }
+                deleteIfUnreferenced(filename);
+                swept++;
+            } catch (RuntimeException e) {
+                log.error("Failed to sweep pending upload: {}", filename, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (swept > 0) {
+            log.info("Swept {} expired pending upload(s)", swept);
+        }
+        return swept;
+    }
+
+    private Lock lockFor(String filename) {
+        return locks[Math.floorMod(filename.hashCode(), LOCK_STRIPES)];
+    }
+
     public void deleteFile(String filename) {
+        // Blobs are shared by every item with the same image, only remove unreferenced ones
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteIfUnreferenced(filename);
+                }
+            });
+        } else {
+            deleteIfUnreferenced(filename);
+        }
+    }
+
+    private void deleteIfUnreferenced(String filename) {
+        Lock lock = lockFor(filename);
+        lock.lock();
         try {
-            Path filePath = Paths.get(uploadDir).resolve(filename);
-            Files.deleteIfExists(filePath);
+            if (pendingReferences.containsKey(filename)) {
+                log.info("File is being attached to an item, keeping: {}", filename);
+                return;
+            }
+            if (pendingUploadRepository.existsById(filename)) {
+                log.info("File is a pending upload, keeping: {}", filename);
+                return;
+            }
+            long references = itemRepository.countByImgname(filename);
+            if (references > 0) {
+                log.info("File still referenced by {} item(s), keeping: {}", references, filename);
+                return;
+            }
+            Files.deleteIfExists(loadFile(filename));
+            deleteVariants(filename);
+            imageCacheService.invalidate(filename);
             log.info("File deleted successfully: {}", filename);
         } catch (IOException e) {
             log.error("Failed to delete file: {}", filename, e);
+        } finally {
+            lock.unlock();
         }
     }
 
     public Path loadFile(String filename) {
-        return Paths.get(uploadDir).resolve(filename);
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path path = CONTENT_ADDRESSED_NAME.matcher(filename).matches()
+                ? root.resolve(filename.substring(0, 2)).resolve(filename.substring(2, 4)).resolve(filename)
+                : root.resolve(filename).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid file name: " + filename);
+        }
+        return path;
+    }
+
+    // Resized copies live under <upload-dir>/variants/<variant>/ab/cd/<hash>.<format>
+    public Path loadVariant(String filename, String variant, String format) {
+        if (!isContentAddressed(filename)) {
+            throw new IllegalArgumentException("Variants are only stored for content-addressed files: " + filename);
+        }
+        String hash = filename.substring(0, 64);
+        return Paths.get(uploadDir).toAbsolutePath().normalize()
+                .resolve(VARIANTS_DIR).resolve(variant)
+                .resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4))
+                .resolve(hash + "." + format);
+    }
+
+    private void deleteVariants(String filename) throws IOException {
+        Path variantsRoot = Paths.get(uploadDir).resolve(VARIANTS_DIR);
+        if (!isContentAddressed(filename) || !Files.isDirectory(variantsRoot)) {
+            return;
+        }
+        String hash = filename.substring(0, 64);
+        try (DirectoryStream<Path> variants = Files.newDirectoryStream(variantsRoot, Files::isDirectory)) {
+            for (Path variant : variants) {
+                Path shard = variant.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4));
+                if (!Files.isDirectory(shard)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> copies = Files.newDirectoryStream(shard, hash + ".*")) {
+                    for (Path copy : copies) {
+                        Files.deleteIfExists(copy);
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean isContentAddressed(String filename) {
+        return CONTENT_ADDRESSED_NAME.matcher(filename).matches();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateLegacyOnStartup) {
+            migrateLegacyFiles();
+        }
+    }
+
+    // Rehashes files stored under the old random names into the sharded layout
+    public int migrateLegacyFiles() {
+        Path root = Paths.get(uploadDir);
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+
+        int migrated = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, Files::isRegularFile)) {
+            for (Path legacy : files) {
+                String legacyName = legacy.getFileName().toString();
+                if (legacyName.startsWith(".")) {
+                    continue;
+                }
+                try {
+                    // Point items at the new name first; a failed move is retried on the next run
+                    String filename = contentAddressedName(hashFile(legacy), extensionOf(legacyName));
+                    int items = itemRepository.renameImage(legacyName, filename);
+                    moveIntoStore(legacy, filename);
+                    log.info("Migrated {} -> {} ({} item(s) updated)", legacyName, filename, items);
+                    migrated++;
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to migrate file: {}", legacyName, e);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to scan upload directory for migration", e);
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated {} legacy upload(s) to content-addressed storage", migrated);
+        }
+        return migrated;
+    }
+
+    private String hashFile(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void moveIntoStore(Path file, String filename) throws IOException {
+        Path target = loadFile(filename);
+        if (Files.exists(target)) {
+            Files.delete(file);
+        } else {
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static String contentAddressedName(String hash, String extension) {
+        return extension.isEmpty() ? hash : hash + "." + extension;
+    }
+
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        String cleaned = StringUtils.cleanPath(originalFilename);
+        int dot = cleaned.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String extension = cleaned.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return SAFE_EXTENSION.matcher(extension).matches() ? extension : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ImageCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of hot image bytes held in direct (off-heap) buffers.
+ * An image is only read into memory once it has been requested more than once,
+ * so one-off requests never cost a load; from there Caffeine's W-TinyLFU policy
+ * decides, by recent frequency, which images keep their place.
+ */
+@Service
+@Slf4j
+public class ImageCacheService {
+
+    private record Entry(ByteBuffer buffer, int size) {
+    }
+
+    // Requests an image needs before it is worth loading
+    private static final int MIN_ADMIT_FREQUENCY = 2;
+
+    @Value("${image.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${image.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${image.cache.max-entry-bytes:2097152}")
+    private long maxEntryBytes;
+
+    private Cache<String, Entry> entries;
+    private FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder admissions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        // Size the sketch for roughly as many images as fit at a typical 64KB each
+        sketch = new FrequencySketch((int) Math.max(1024, Math.min(1 << 20, maxBytes / 65536)));
+        entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> entry.size())
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    public static String key(String filename, String variant) {
+        return variant == null ? filename + "|" : filename + "|" + variant;
+    }
+
+    // Returns a read-only view positioned at the start of the image, or null on a miss
+    public ByteBuffer get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        sketch.increment(key);
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.buffer().duplicate();
+    }
+
+    // Loads the file into the cache if it is frequent enough to earn a place
+    public ByteBuffer admit(String key, Path path, long size) {
+        if (!enabled || size <= 0 || size > maxEntryBytes || size > maxBytes) {
+            return null;
+        }
+
+        if (sketch.frequency(key) < MIN_ADMIT_FREQUENCY) {
+            rejections.increment();
+            return null;
+        }
+
+        try {
+            // Loaded outside any lock; two requests racing on one image load it twice and one copy wins
+            Entry loaded = new Entry(load(path, (int) size), (int) size);
+            Entry existing = entries.asMap().putIfAbsent(key, loaded);
+            if (existing != null) {
+                return existing.buffer().duplicate();
+            }
+            // Deleted while loading: drop it rather than serve a file that is gone
+            if (!Files.exists(path)) {
+                entries.asMap().remove(key, loaded);
+                return null;
+            }
+            admissions.increment();
+            return loaded.buffer().duplicate();
+        } catch (IOException e) {
+            log.warn("Failed to cache image {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ByteBuffer load(Path path, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("File shrank while caching: " + path.getFileName());
+                }
+            }
+        }
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    // Drops the original and every variant of a stored file
+    public void invalidate(String filename) {
+        String prefix = filename + "|";
+        entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public ImageCacheStats getStats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return new ImageCacheStats(
+                (int) entries.estimatedSize(),
+                entries.policy().eviction().orElseThrow().weightedSize().orElse(0L),
+                maxBytes,
+                hitCount,
+                misses.sum(),
+                total == 0 ? 0 : (double) hitCount / total,
+                admissions.sum(),
+                rejections.sum(),
+                evictions.sum()
+        );
+    }
+
+    /**
+     * Count-min sketch of 4-bit-saturating counters, halved periodically so
+     * popularity from long ago fades out.
+     */
+    private static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final int[][] table;
+        private final int mask;
+        private final int sampleSize;
+        private final AtomicLong additions = new AtomicLong();
+
+        FrequencySketch(int expectedEntries) {
+            int width = Integer.highestOneBit(Math.max(16, expectedEntries) - 1) << 1;
+            this.table = new int[DEPTH][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * width;
+        }
+
+        int frequency(String key) {
+            int hash = key.hashCode();
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, table[row][index(hash, row)]);
+            }
+            return min;
+        }
+
+        void increment(String key) {
+            int hash = key.hashCode();
+            for (int row = 0; row < DEPTH; row++) {
+                int i = index(hash, row);
+                // Racy by design: a lost update only skews an estimate
+                if (table[row][i] < MAX_COUNT) {
+                    table[row][i]++;
+                }
+            }
+            if (additions.incrementAndGet() % sampleSize == 0) {
+                age();
+            }
+        }
+
+        private void age() {
+            for (int[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
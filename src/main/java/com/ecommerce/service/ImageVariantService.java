@@ -0,0 +1,289 @@
+package com.ecommerce.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Produces resized copies of item images off the request path.
+ * Variants are generated on a bounded pool right after upload (or after the
+ * item's transaction commits), and queued by the first request for any variant
+ * that is still missing; that request is answered with the original meanwhile.
+ * Decoding never happens on a request thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantService {
+
+    // Variant name -> longest edge in pixels
+    private static final Map<String, Integer> VARIANTS = Map.of(
+            "thumb", 200,
+            "card", 480,
+            "detail", 1080
+    );
+
+    // Refuse to decode anything that would need more than ~160MB of pixels
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    // Variants remembered as served by the original; re-checked from the header after eviction
+    private static final int ORIGINAL_ONLY_LIMIT = 10_000;
+
+    private final FileStorageService fileStorageService;
+
+    @Value("${image.variants.workers:2}")
+    private int workers;
+
+    @Value("${image.variants.queue-capacity:200}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    // Both keyed variant/filename
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Undecodable, too large to decode, or already within the variant's size
+    private final Cache<String, Boolean> originalOnly = Caffeine.newBuilder()
+            .maximumSize(ORIGINAL_ONLY_LIMIT)
+            .build();
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("image-variants-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isVariant(String variant) {
+        return VARIANTS.containsKey(variant);
+    }
+
+    // Inside a transaction, waits for the commit so the item referencing the file exists
+    public void generateAllAsync(String filename) {
+        if (filename == null || !fileStorageService.isContentAddressed(filename)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    VARIANTS.keySet().forEach(variant -> generateAsync(filename, variant));
+                }
+            });
+        } else {
+            VARIANTS.keySet().forEach(variant -> generateAsync(filename, variant));
+        }
+    }
+
+    /**
+     * Returns the variant file if it has been generated. Otherwise queues its
+     * generation and returns empty, meaning serve the original for now.
+     */
+    public Optional<Path> resolveVariant(String filename, String variant) {
+        if (!VARIANTS.containsKey(variant) || !fileStorageService.isContentAddressed(filename)
+                || isOriginalOnly(filename, variant)) {
+            return Optional.empty();
+        }
+        Path target = fileStorageService.loadVariant(filename, variant, outputFormat(filename));
+        if (Files.exists(target)) {
+            return Optional.of(target);
+        }
+        generateAsync(filename, variant);
+        return Optional.empty();
+    }
+
+    // True once the original is known to be the lasting answer for this variant
+    public boolean isOriginalOnly(String filename, String variant) {
+        return originalOnly.getIfPresent(variant + "/" + filename) != null;
+    }
+
+    private void generateAsync(String filename, String variant) {
+        // Concurrent requests for the same missing variant share one resize
+        String key = variant + "/" + filename;
+        if (!inFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariant(filename, variant);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            log.debug("Image pipeline is busy, {} variant of {} will be retried on a later request", variant, filename);
+        }
+    }
+
+    private void generateVariant(String filename, String variant) {
+        if (isOriginalOnly(filename, variant)) {
+            return;
+        }
+        String format = outputFormat(filename);
+        Path target = fileStorageService.loadVariant(filename, variant, format);
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Path original = fileStorageService.loadFile(filename);
+            if (Files.exists(original) && !generate(original, target, VARIANTS.get(variant), format)) {
+                originalOnly.put(variant + "/" + filename, Boolean.TRUE);
+            }
+        } catch (IIOException | RuntimeException e) {
+            // The image itself cannot be decoded or encoded (CMYK JPEG, truncated data, ...); every retry
+            // would repeat the full decode, so the original stands in from now on
+            originalOnly.put(variant + "/" + filename, Boolean.TRUE);
+            log.warn("Cannot generate {} variant of {}, serving the original: {}", variant, filename, e.getMessage());
+        } catch (IOException e) {
+            // Storage trouble rather than a bad image; a later request tries again
+            log.warn("Failed to generate {} variant of {}: {}", variant, filename, e.getMessage());
+        }
+    }
+
+    // False when the original has to stand in for the variant
+    private boolean generate(Path original, Path target, int maxEdge, String format) throws IOException {
+        BufferedImage source = read(original, maxEdge);
+        if (source == null) {
+            return false;
+        }
+
+        BufferedImage resized = resize(source, maxEdge, "jpg".equals(format));
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            write(resized, format, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        log.debug("Generated {}px variant {}", maxEdge, target.getFileName());
+        return true;
+    }
+
+    private BufferedImage read(Path original, int maxEdge) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long pixels = (long) width * height;
+                if (pixels > MAX_PIXELS) {
+                    log.warn("Image too large to resize ({} pixels): {}", pixels, original.getFileName());
+                    return null;
+                }
+                // Nothing to gain from re-encoding an image that already fits
+                if (Math.max(width, height) <= maxEdge) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxEdge, boolean opaque) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        // Halve in steps so bilinear filtering does not skip source pixels
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                if (opaque) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            if ("jpg".equals(format)) {
+                params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                params.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // PNG and GIF keep transparency as PNG, everything else becomes JPEG
+    private static String outputFormat(String filename) {
+        String lower = filename.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".png") || lower.endsWith(".gif") ? "png" : "jpg";
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.exception.NotFoundException;
 import com.ecommerce.model.Item;
 import com.ecommerce.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,15 +21,20 @@ public class ItemService {
 
     private final ItemRepository itemRepository;
     private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ResponseCacheService responseCacheService;
 
     @Transactional
     public ApiResponse addItem(String itemName, String description, BigDecimal itemCost,
                                Integer itemQuantity, String itemCategory, String addedBy,
-                               MultipartFile file) {
+                               MultipartFile file, String imageHandle) {
         try {
             String filename = null;
             if (file != null && !file.isEmpty()) {
                 filename = fileStorageService.storeFile(file);
+                imageVariantService.generateAllAsync(filename);
+            } else if (imageHandle != null && !imageHandle.isBlank()) {
+                filename = resolveImageHandle(imageHandle);
             }
 
             Item item = new Item();
@@ -41,6 +47,7 @@ public class ItemService {
             item.setImgname(filename);
 
             itemRepository.save(item);
+            responseCacheService.invalidate(ResponseCacheService.ITEMS);
 
             return new ApiResponse(true, itemName + " added successfully", item);
         } catch (Exception e) {
@@ -49,23 +56,28 @@ public class ItemService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Item> getAllItems() {
         return itemRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Item> getItemsByAdmin(String adminEmail) {
-        return itemRepository.findByAddedBy(adminEmail);
+        return itemRepository.findByAddedByOrderByCreatedAtDesc(adminEmail);
     }
 
+    @Transactional(readOnly = true)
     public List<Item> getItemsByCategory(String category) {
-        return itemRepository.findByItemCategory(category);
+        return itemRepository.findByItemCategoryOrderByCreatedAtDesc(category);
     }
 
+    @Transactional(readOnly = true)
     public Item getItemById(UUID itemId) {
         return itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found with id: " + itemId));
+                .orElseThrow(() -> new NotFoundException("Item not found"));
     }
 
+    @Transactional(readOnly = true)
     public List<Item> searchItems(String keyword) {
         return itemRepository.searchItems(keyword);
     }
@@ -73,7 +85,8 @@ public class ItemService {
     @Transactional
     public ApiResponse updateItem(UUID itemId, String itemName, String description,
                                   BigDecimal itemCost, Integer itemQuantity,
-                                  String itemCategory, String addedBy, MultipartFile file) {
+                                  String itemCategory, String addedBy, MultipartFile file,
+                                  String imageHandle) {
         try {
             Item item = getItemById(itemId);
 
@@ -90,17 +103,24 @@ public class ItemService {
             item.setItemCategory(itemCategory);
 
             // Update image if provided
+            String filename = null;
             if (file != null && !file.isEmpty()) {
+                // Store new image
+                filename = fileStorageService.storeFile(file);
+                imageVariantService.generateAllAsync(filename);
+            } else if (imageHandle != null && !imageHandle.isBlank()) {
+                filename = resolveImageHandle(imageHandle);
+            }
+            if (filename != null) {
                 // Delete old image
                 if (item.getImgname() != null) {
                     fileStorageService.deleteFile(item.getImgname());
                 }
-                // Store new image
-                String filename = fileStorageService.storeFile(file);
                 item.setImgname(filename);
             }
 
             itemRepository.save(item);
+            responseCacheService.invalidate(ResponseCacheService.ITEMS);
 
             return new ApiResponse(true, "Item updated successfully", item);
         } catch (Exception e) {
@@ -109,6 +129,14 @@ public class ItemService {
         }
     }
 
+    // Handles come from the streaming upload endpoint and name an already stored image
+    private String resolveImageHandle(String imageHandle) {
+        if (!fileStorageService.attach(imageHandle)) {
+            throw new IllegalArgumentException("Unknown image handle: " + imageHandle);
+        }
+        return imageHandle;
+    }
+
     @Transactional
     public ApiResponse deleteItem(UUID itemId, String addedBy) {
         try {
@@ -125,6 +153,7 @@ public class ItemService {
             }
 
             itemRepository.delete(item);
+            responseCacheService.invalidate(ResponseCacheService.ITEMS);
 
             return new ApiResponse(true, "Item deleted successfully");
         } catch (Exception e) {
@@ -0,0 +1,287 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.dto.MailDispatchStats;
+import com.ecommerce.exception.MailQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded outbound mail queue drained by a fixed pool of workers.
+ * Each worker keeps its SMTP transport open across messages and sends whatever
+ * is queued as one batch per connection. Failed sends are retried with
+ * exponential backoff and dead-lettered once the attempts are used up, or when
+ * the dispatcher stops before they are due.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailDispatchService {
+
+    public record DeadLetter(String to, String subject, String error, long failedAt) {
+    }
+
+    private record MailJob(MimeMessage message, String to, String subject, int attempt) {
+        MailJob nextAttempt() {
+            return new MailJob(message, to, subject, attempt + 1);
+        }
+    }
+
+    private static final long POLL_INTERVAL_MS = 1000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final JavaMailSenderImpl mailSender;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mail.dispatch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${mail.dispatch.workers:2}")
+    private int workers;
+
+    @Value("${mail.dispatch.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.dispatch.idle-timeout-ms:30000}")
+    private long idleTimeoutMs;
+
+    @Value("${mail.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail.dispatch.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${mail.dispatch.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${mail.dispatch.dead-letter-capacity:1000}")
+    private int deadLetterCapacity;
+
+    private BlockingQueue<MailJob> queue;
+    private ExecutorService workerPool;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+    private Timer smtpSuccess;
+    private Timer smtpFailure;
+
+    private final ConcurrentLinkedDeque<DeadLetter> deadLetters = new ConcurrentLinkedDeque<>();
+    // Jobs waiting on the retry scheduler, with the failure that sent them there
+    private final Map<MailJob, Exception> pendingRetries = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder sendLatencyNanos = new LongAdder();
+    private final AtomicLong maxSendLatencyNanos = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        smtpSuccess = MetricsConfig.externalCallTimer(meterRegistry, "smtp", "send", "success");
+        smtpFailure = MetricsConfig.externalCallTimer(meterRegistry, "smtp", "send", "failure");
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mail-retry-"));
+        workerPool = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("mail-dispatch-"));
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::runWorker);
+        }
+        log.info("Mail dispatcher started with {} workers, queue capacity {}", workers, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workerPool.shutdown();
+        if (!workerPool.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            workerPool.shutdownNow();
+        }
+        // Only once the workers are done, so failures while draining the queue are still handled
+        retryScheduler.shutdownNow();
+        retryScheduler.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        pendingRetries.forEach(this::deadLetter);
+        pendingRetries.clear();
+        if (!queue.isEmpty()) {
+            log.warn("Mail dispatcher stopped with {} unsent messages", queue.size());
+        }
+    }
+
+    public void enqueue(MimeMessage message, String to, String subject) {
+        if (!queue.offer(new MailJob(message, to, subject, 1))) {
+            rejected.increment();
+            log.warn("Mail queue is full, dropping email to: {}", to);
+            throw new MailQueueFullException("Too many emails queued, try again later");
+        }
+    }
+
+    private void runWorker() {
+        Transport transport = null;
+        long lastUsed = System.currentTimeMillis();
+        List<MailJob> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                MailJob first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Idle: release the connection rather than let the server time it out
+                    if (transport != null && System.currentTimeMillis() - lastUsed > idleTimeoutMs) {
+                        transport = close(transport);
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                for (MailJob job : batch) {
+                    long connectStart = System.nanoTime();
+                    try {
+                        transport = connect(transport);
+                        long start = System.nanoTime();
+                        job.message().saveChanges();
+                        transport.sendMessage(job.message(), job.message().getAllRecipients());
+                        long end = System.nanoTime();
+                        recordLatency(end - start);
+                        smtpSuccess.record(end - connectStart, TimeUnit.NANOSECONDS);
+                        sent.increment();
+                        log.info("Email sent successfully to: {}", job.to());
+                    } catch (MessagingException | RuntimeException e) {
+                        smtpFailure.record(System.nanoTime() - connectStart, TimeUnit.NANOSECONDS);
+                        // The connection state is unknown after a failure, start a fresh one
+                        transport = close(transport);
+                        handleFailure(job, e);
+                    }
+                }
+                batch.clear();
+                lastUsed = System.currentTimeMillis();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    private Transport connect(Transport transport) throws MessagingException {
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport fresh = mailSender.getSession().getTransport(protocol);
+        fresh.connect(mailSender.getHost(), mailSender.getPort(),
+                mailSender.getUsername(), mailSender.getPassword());
+        connectionsOpened.increment();
+        return fresh;
+    }
+
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP transport", e);
+            }
+        }
+        return null;
+    }
+
+    private void handleFailure(MailJob job, Exception e) {
+        failedAttempts.increment();
+
+        // A stopping dispatcher has no one left to send the retry
+        if (isPermanent(e) || job.attempt() >= maxAttempts || !running) {
+            deadLetter(job, e);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(job.attempt() - 1, 20));
+        pendingRetries.put(job, e);
+        try {
+            retryScheduler.schedule(() -> {
+                if (pendingRetries.remove(job) != null && !queue.offer(job.nextAttempt())) {
+                    deadLetter(job, e);
+                }
+            }, backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException stopped) {
+            pendingRetries.remove(job);
+            deadLetter(job, e);
+            return;
+        }
+        retried.increment();
+        log.warn("Failed to send email to: {} (attempt {}/{}), retrying in {} ms: {}",
+                job.to(), job.attempt(), maxAttempts, backoff, e.getMessage());
+    }
+
+    private boolean isPermanent(Exception e) {
+        // Rejected recipient addresses will never be accepted on a retry
+        return e instanceof SendFailedException sfe
+                && sfe.getInvalidAddresses() != null
+                && sfe.getInvalidAddresses().length > 0;
+    }
+
+    private void deadLetter(MailJob job, Exception e) {
+        deadLettered.increment();
+        deadLetters.addFirst(new DeadLetter(job.to(), job.subject(), e.getMessage(), System.currentTimeMillis()));
+        while (deadLetters.size() > deadLetterCapacity) {
+            deadLetters.pollLast();
+        }
+        log.error("Giving up on email to: {} after {} attempts", job.to(), job.attempt(), e);
+    }
+
+    private void recordLatency(long nanos) {
+        sendLatencyNanos.add(nanos);
+        maxSendLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public List<DeadLetter> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    public MailDispatchStats getStats() {
+        long sentCount = sent.sum();
+        double avgLatencyMs = sentCount == 0 ? 0 : sendLatencyNanos.sum() / (double) sentCount / 1_000_000;
+        return new MailDispatchStats(
+                queue.size(),
+                queueCapacity,
+                sentCount,
+                connectionsOpened.sum(),
+                failedAttempts.sum(),
+                retried.sum(),
+                deadLettered.sum(),
+                rejected.sum(),
+                avgLatencyMs,
+                maxSendLatencyNanos.get() / 1_000_000.0
+        );
+    }
+}
@@ -1,20 +1,31 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.MetricsConfig;
 import com.ecommerce.dto.ApiResponse;
 import com.ecommerce.dto.OrderRequest;
+import com.ecommerce.dto.OrderStatusUpdate;
+import com.ecommerce.exception.NotFoundException;
 import com.ecommerce.model.Order;
 import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.util.RequestTiming;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import com.razorpay.Utils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -22,23 +33,42 @@ import java.util.List;
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    // Lazy bean; a @Lazy proxy would not do, since the SDK is used through public fields
+    private final ObjectProvider<RazorpayClient> razorpayClient;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Value("${razorpay.key.id}")
-    private String razorpayKeyId;
+    private Timer razorpaySuccess;
+    private Timer razorpayFailure;
 
     @Value("${razorpay.key.secret}")
     private String razorpayKeySecret;
 
-    public JSONObject createRazorpayOrder(OrderRequest orderRequest) throws RazorpayException {
-        RazorpayClient client = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+    @PostConstruct
+    public void registerMeters() {
+        razorpaySuccess = MetricsConfig.externalCallTimer(meterRegistry, "razorpay", "orders.create", "success");
+        razorpayFailure = MetricsConfig.externalCallTimer(meterRegistry, "razorpay", "orders.create", "failure");
+    }
 
+    public JSONObject createRazorpayOrder(OrderRequest orderRequest) throws RazorpayException {
         JSONObject orderRequestJson = new JSONObject();
         orderRequestJson.put("amount", orderRequest.getTotal().multiply(java.math.BigDecimal.valueOf(100)).intValue());
         orderRequestJson.put("currency", "INR");
         orderRequestJson.put("receipt", "order_" + System.currentTimeMillis());
         orderRequestJson.put("payment_capture", 1);
 
-        com.razorpay.Order order = client.orders.create(orderRequestJson);
+        // Shared client (RazorpayConfig) so its HTTP connection pool is reused across orders
+        long start = System.nanoTime();
+        com.razorpay.Order order;
+        try {
+            order = razorpayClient.getObject().orders.create(orderRequestJson);
+            razorpaySuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RazorpayException | RuntimeException e) {
+            razorpayFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.PAYMENT, System.nanoTime() - start);
+        }
 
         log.info("Razorpay order created: {}", order.toString());
 
@@ -71,6 +101,10 @@ public class OrderService {
             order.setOrderStatus("COMPLETED");
 
             orderRepository.save(order);
+            // Delivered to the buyer's open /api/orders/stream connections after commit
+            eventPublisher.publishEvent(new OrderStreamService.OrderStatusEvent(userEmail, new OrderStatusUpdate(
+                    order.getOrderId(), order.getItemId(), order.getItemName(), order.getTotal(),
+                    order.getOrderStatus(), LocalDateTime.now())));
 
             return new ApiResponse(true, "Order placed successfully", order);
         } catch (Exception e) {
@@ -79,15 +113,18 @@ public class OrderService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUser(String userEmail) {
-        return orderRepository.findByPaymentBy(userEmail);
+        return orderRepository.findByPaymentByOrderByCreatedAtDesc(userEmail);
     }
 
+    @Transactional(readOnly = true)
     public Order getOrderById(Long orderId) {
         return orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+                .orElseThrow(() -> new NotFoundException("Order not found"));
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
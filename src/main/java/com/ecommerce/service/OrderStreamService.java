@@ -0,0 +1,359 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.OrderStatusUpdate;
+import com.ecommerce.exception.TooManyStreamsException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes order status changes to their owner's open Server-Sent Events streams,
+ * so clients no longer poll /api/orders/my-orders. A stream is an async request
+ * written with non-blocking I/O: no thread ever waits on a client's socket, and
+ * while idle a stream holds a connection but no thread. Events are queued per
+ * stream (bounded) and written whenever the socket can take them; a client that
+ * falls a whole buffer behind is disconnected instead of being buffered for
+ * without limit. Every event carries an id, and a client reconnecting with
+ * Last-Event-ID gets the events it missed from a short per-user history. Events
+ * come from OrderService once the transaction has committed, and only reach
+ * streams held by this instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStreamService {
+
+    public record OrderStatusEvent(String userEmail, OrderStatusUpdate update) {
+    }
+
+    private record Frame(long id, byte[] bytes) {
+    }
+
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final class Stream implements WriteListener, AsyncListener {
+        final String userEmail;
+        final AsyncContext asyncContext;
+        final ServletOutputStream out;
+        final BlockingQueue<byte[]> pending;
+        final AtomicBoolean closed = new AtomicBoolean();
+        // Guarded by this; written bytes are flushed before the next frame goes out
+        boolean unflushed;
+
+        Stream(String userEmail, AsyncContext asyncContext, ServletOutputStream out, int bufferSize) {
+            this.userEmail = userEmail;
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Client disconnected mid-write
+            log.debug("Order stream for {} closed: {}", userEmail, t.getMessage());
+            close(this);
+        }
+
+        // Completing here ends the stream quietly; EventSource then reconnects
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close(this);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close(this);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            remove(this);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${orders.stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${orders.stream.max-per-user:5}")
+    private int maxPerUser;
+
+    @Value("${orders.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${orders.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${orders.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${orders.stream.retry-ms:2000}")
+    private long retryMs;
+
+    @Value("${orders.stream.replay-ms:300000}")
+    private long replayMs;
+
+    private final Map<String, Deque<Stream>> streamsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Seeded from the clock so ids keep growing across restarts and an old Last-Event-ID replays everything held
+    private final AtomicLong nextEventId = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    // Each user's latest buffer-size events, for Last-Event-ID; the deque is also the lock that keeps
+    // publishing and subscribing for one user in order
+    private Cache<String, Deque<Frame>> history;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void start() {
+        history = Caffeine.newBuilder()
+                .maximumSize(maxConnections)
+                .expireAfterAccess(Duration.ofMillis(replayMs))
+                .build();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("order-stream-heartbeat-"));
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        streamsByUser.values().forEach(streams -> streams.forEach(this::close));
+    }
+
+    public void subscribe(String userEmail, String lastEventId, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.increment();
+            throw new TooManyStreamsException("Too many open order streams, try again later");
+        }
+
+        Stream stream;
+        try {
+            response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            AsyncContext asyncContext = request.startAsync(request, response);
+            asyncContext.setTimeout(timeoutMs);
+            // One slot over buffer-size, so the connected frame and a full replay fit
+            stream = new Stream(userEmail, asyncContext, response.getOutputStream(), bufferSize + 1);
+            asyncContext.addListener(stream);
+        } catch (IOException | RuntimeException e) {
+            connections.decrementAndGet();
+            throw e;
+        }
+
+        Deque<Frame> userHistory = history.get(userEmail, email -> new ArrayDeque<>());
+        List<Stream> replaced = new ArrayList<>();
+        synchronized (userHistory) {
+            // Sent right away so proxies pass the response headers on before the first real event;
+            // the short retry brings a dropped client back before it has missed much
+            stream.pending.offer(("retry: " + retryMs + "\n:connected\n\n").getBytes(StandardCharsets.UTF_8));
+            long lastSeen = parseEventId(lastEventId);
+            if (lastSeen >= 0) {
+                for (Frame frame : userHistory) {
+                    if (frame.id() > lastSeen) {
+                        stream.pending.offer(frame.bytes());
+                    }
+                }
+            }
+            // The container calls onWritePossible as soon as the response can be written. Only after
+            // this is the stream published, since nothing may write to it before it is non-blocking.
+            try {
+                stream.out.setWriteListener(stream);
+            } catch (RuntimeException e) {
+                close(stream);
+                throw e;
+            }
+
+            // A reload or another tab replaces the user's oldest stream once they hold max-per-user
+            streamsByUser.compute(userEmail, (email, streams) -> {
+                Deque<Stream> userStreams = streams != null ? streams : new ConcurrentLinkedDeque<>();
+                userStreams.add(stream);
+                while (userStreams.size() > maxPerUser) {
+                    replaced.add(userStreams.poll());
+                }
+                return userStreams;
+            });
+        }
+        replaced.forEach(this::close);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatus(OrderStatusEvent event) {
+        Frame frame;
+        try {
+            long id = nextEventId.incrementAndGet();
+            frame = new Frame(id, ("id: " + id + "\nevent: order-status\ndata: "
+                    + objectMapper.writeValueAsString(event.update()) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize order status for {}", event.userEmail(), e);
+            return;
+        }
+
+        Deque<Frame> userHistory = history.get(event.userEmail(), email -> new ArrayDeque<>());
+        synchronized (userHistory) {
+            userHistory.add(frame);
+            while (userHistory.size() > bufferSize) {
+                userHistory.poll();
+            }
+            Deque<Stream> streams = streamsByUser.get(event.userEmail());
+            if (streams != null) {
+                streams.forEach(stream -> enqueue(stream, frame.bytes()));
+            }
+        }
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getOverflowed() {
+        return overflowed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that have gone away
+    private void sendHeartbeats() {
+        for (Deque<Stream> streams : streamsByUser.values()) {
+            for (Stream stream : streams) {
+                if (stream.pending.isEmpty()) {
+                    enqueue(stream, HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    private void enqueue(Stream stream, byte[] bytes) {
+        if (stream.closed.get()) {
+            return;
+        }
+        if (!stream.pending.offer(bytes)) {
+            overflowed.increment();
+            log.debug("Order stream for {} fell {} events behind, disconnecting", stream.userEmail, bufferSize);
+            close(stream);
+            return;
+        }
+        drain(stream);
+    }
+
+    // Writes only while the container says the socket can take more, so it never blocks; when it cannot,
+    // the container calls onWritePossible once it can and the rest goes out then
+    private void drain(Stream stream) {
+        synchronized (stream) {
+            try {
+                while (!stream.closed.get() && stream.out.isReady()) {
+                    if (stream.unflushed) {
+                        stream.unflushed = false;
+                        stream.out.flush();
+                        continue;
+                    }
+                    byte[] next = stream.pending.poll();
+                    if (next == null) {
+                        return;
+                    }
+                    stream.out.write(next);
+                    stream.unflushed = true;
+                    delivered.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client disconnected, or the response was already completed
+                log.debug("Order stream for {} closed: {}", stream.userEmail, e.getMessage());
+                close(stream);
+            }
+        }
+    }
+
+    private void close(Stream stream) {
+        if (!remove(stream)) {
+            return;
+        }
+        synchronized (stream) {
+            try {
+                stream.asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    private boolean remove(Stream stream) {
+        if (!stream.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        connections.decrementAndGet();
+        stream.pending.clear();
+        streamsByUser.computeIfPresent(stream.userEmail, (email, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+        return true;
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
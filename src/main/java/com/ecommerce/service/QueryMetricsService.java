@@ -0,0 +1,117 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.RepositoryMethodStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per repository method: call count, latency histogram, statements issued and
+ * rows returned. Calls slower than query.slow-threshold-ms are logged.
+ */
+@Service
+@Slf4j
+public class QueryMetricsService {
+
+    // Upper bounds of the latency buckets in milliseconds; the last bucket is unbounded
+    private static final long[] BUCKETS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    @Value("${query.slow-threshold-ms:200}")
+    private long slowThresholdMs;
+
+    private final Map<String, MethodStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder nPlusOneRequests = new LongAdder();
+
+    private static final class MethodStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder statements = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[BUCKETS_MS.length + 1];
+
+        MethodStats() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+    }
+
+    public void record(String method, long elapsedNanos, long statementCount, long rowCount, boolean failed) {
+        MethodStats methodStats = stats.computeIfAbsent(method, key -> new MethodStats());
+        methodStats.calls.increment();
+        if (failed) {
+            methodStats.errors.increment();
+        }
+        methodStats.totalNanos.add(elapsedNanos);
+        methodStats.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        methodStats.statements.add(statementCount);
+        methodStats.rows.add(rowCount);
+        methodStats.histogram[bucket(elapsedNanos)].increment();
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs >= slowThresholdMs) {
+            slowCalls.increment();
+            log.warn("Slow query: {} took {} ms ({} statements, {} rows)", method, elapsedMs, statementCount, rowCount);
+        }
+    }
+
+    public void recordNPlusOne(String request, String sql, int executions) {
+        nPlusOneRequests.increment();
+        log.warn("Possible N+1 in {}: statement ran {} times: {}", request, executions, sql);
+    }
+
+    public long getSlowCalls() {
+        return slowCalls.sum();
+    }
+
+    public long getNPlusOneRequests() {
+        return nPlusOneRequests.sum();
+    }
+
+    public List<RepositoryMethodStats> getStats() {
+        List<RepositoryMethodStats> result = new ArrayList<>();
+        stats.forEach((method, methodStats) -> {
+            long calls = methodStats.calls.sum();
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < methodStats.histogram.length; i++) {
+                String label = i < BUCKETS_MS.length ? "le_" + BUCKETS_MS[i] + "ms" : "gt_" + BUCKETS_MS[i - 1] + "ms";
+                histogram.put(label, methodStats.histogram[i].sum());
+            }
+            result.add(new RepositoryMethodStats(
+                    method,
+                    calls,
+                    methodStats.errors.sum(),
+                    calls == 0 ? 0 : methodStats.totalNanos.sum() / 1_000_000.0 / calls,
+                    methodStats.maxNanos.get() / 1_000_000.0,
+                    methodStats.statements.sum(),
+                    methodStats.rows.sum(),
+                    histogram
+            ));
+        });
+        result.sort(Comparator.comparingLong(RepositoryMethodStats::getCalls).reversed());
+        return result;
+    }
+
+    private static int bucket(long elapsedNanos) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        for (int i = 0; i < BUCKETS_MS.length; i++) {
+            if (elapsedMs <= BUCKETS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKETS_MS.length;
+    }
+}
@@ -0,0 +1,225 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.ReadWriteRoutingDataSource;
+import com.ecommerce.dto.ApiResponse;
+import com.ecommerce.dto.ResponseCacheStats;
+import com.ecommerce.util.RequestTiming;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON (and a gzip copy) of hot read endpoints, so a repeat request
+ * is a byte copy instead of a query plus Jackson serialization.
+ * Entries are grouped by namespace; a mutation drops its whole namespace once
+ * its transaction completes. Invalidation only reaches this node, so entries
+ * also expire after ttl-ms, which bounds how long other nodes serve a stale copy.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCacheService {
+
+    public static final String ITEMS = "items";
+    public static final String REVIEWS = "reviews";
+
+    private record Entry(long generation, byte[] identity, byte[] gzip) {
+
+        long size() {
+            return identity.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${response.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${response.cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    @Value("${response.cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    @Value("${response.cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    // How long after an invalidation re-renders read from the primary, so a lagging replica cannot refill the cache
+    @Value("${response.cache.primary-after-invalidate-ms:${datasource.routing.read-your-writes-ms:5000}}")
+    private long primaryAfterInvalidateMs;
+
+    private Cache<String, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> (int) entry.size())
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Serves the cached bytes for namespace/key, rendering and caching them on a miss.
+     * Gzip is used when the client accepts it and the body is large enough to benefit.
+     */
+    public ResponseEntity<byte[]> respond(String namespace, String key, HttpServletRequest request,
+                                          Supplier<ApiResponse> render) {
+        String cacheKey = namespace + ":" + key;
+        Entry entry = enabled ? entries.getIfPresent(cacheKey) : null;
+        if (entry != null && entry.generation() == generation(namespace).get()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // Read before rendering: if a mutation commits meanwhile, the result is not stored
+            long generation = generation(namespace).get();
+            entry = render(generation, invalidatedRecently(namespace)
+                    ? ReadWriteRoutingDataSource.onPrimary(render)
+                    : render.get());
+            if (enabled) {
+                store(namespace, cacheKey, entry);
+            }
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = entry.identity();
+        if (entry.gzip() != null && acceptsGzip(request)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.gzip();
+        }
+        headers.setContentLength(body.length);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    // Drops every entry of the namespace after the current transaction (if any) completes
+    public void invalidate(String namespace) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNamespace(namespace);
+                }
+            });
+        } else {
+            evictNamespace(namespace);
+        }
+    }
+
+    private void evictNamespace(String namespace) {
+        invalidatedAt.put(namespace, System.currentTimeMillis());
+        generation(namespace).incrementAndGet();
+        invalidations.increment();
+        String prefix = namespace + ":";
+        entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private boolean invalidatedRecently(String namespace) {
+        Long at = invalidatedAt.get(namespace);
+        return at != null && System.currentTimeMillis() - at < primaryAfterInvalidateMs;
+    }
+
+    private AtomicLong generation(String namespace) {
+        return generations.computeIfAbsent(namespace, key -> new AtomicLong());
+    }
+
+    private Entry render(long generation, ApiResponse response) {
+        long start = System.nanoTime();
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(response);
+            return new Entry(generation, identity, identity.length >= gzipMinBytes ? gzip(identity) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - start);
+        }
+    }
+
+    private void store(String namespace, String cacheKey, Entry entry) {
+        if (entry.size() > maxBytes / 4) {
+            return;
+        }
+        entries.put(cacheKey, entry);
+
+        // An invalidation that ran between rendering and the put above must win
+        if (entry.generation() != generation(namespace).get()) {
+            entries.asMap().remove(cacheKey, entry);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    public ResponseCacheStats getStats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return new ResponseCacheStats(
+                (int) entries.estimatedSize(),
+                entries.policy().eviction().orElseThrow().weightedSize().orElse(0L),
+                maxBytes,
+                hitCount,
+                misses.sum(),
+                total == 0 ? 0 : (double) hitCount / total,
+                evictions.sum(),
+                invalidations.sum()
+        );
+    }
+}
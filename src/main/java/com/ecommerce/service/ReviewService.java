@@ -17,6 +17,7 @@ import java.util.UUID;
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final ResponseCacheService responseCacheService;
 
     @Transactional
     public ApiResponse addReview(UUID itemId, String reviewText, Integer rating, String userEmail) {
@@ -28,6 +29,7 @@ public class ReviewService {
             review.setAddedBy(userEmail);
 
             reviewRepository.save(review);
+            responseCacheService.invalidate(ResponseCacheService.REVIEWS);
 
             return new ApiResponse(true, "Review added successfully", review);
         } catch (Exception e) {
@@ -36,10 +38,12 @@ public class ReviewService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByItemId(UUID itemId) {
-        return reviewRepository.findByItemId(itemId);
+        return reviewRepository.findByItemIdOrderByCreatedAtDesc(itemId);
     }
 
+    @Transactional(readOnly = true)
     public List<Review> getAllReviews() {
         return reviewRepository.findAll();
     }
@@ -48,6 +52,7 @@ public class ReviewService {
     public ApiResponse deleteReview(Long reviewId) {
         try {
             reviewRepository.deleteById(reviewId);
+            responseCacheService.invalidate(ResponseCacheService.REVIEWS);
             return new ApiResponse(true, "Review deleted successfully");
         } catch (Exception e) {
             log.error("Failed to delete review", e);
@@ -1,15 +1,20 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.ReadWriteRoutingDataSource;
 import com.ecommerce.dto.ApiResponse;
 import com.ecommerce.dto.AuthResponse;
 import com.ecommerce.dto.LoginRequest;
 import com.ecommerce.dto.SignupRequest;
+import com.ecommerce.exception.AuthenticationFailedException;
+import com.ecommerce.exception.MailQueueFullException;
+import com.ecommerce.exception.NotFoundException;
 import com.ecommerce.model.User;
 import com.ecommerce.repository.UserRepository;
 import com.ecommerce.util.JwtUtil;
 import com.ecommerce.util.OtpUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +32,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    @Lazy
     private final EmailService emailService;
     private final OtpUtil otpUtil;
 
@@ -50,22 +56,20 @@ public class UserService {
 
             // Generate OTP
             String otp = otpUtil.generateNumericOtp(6);
-            log.info("Generated OTP for {}: {}", request.getEmail(), otp);
+            log.info("Generated OTP for {}", request.getEmail());
 
             otpStorage.put(request.getEmail(), otp);
             pendingUsers.put(request.getEmail(), request);
             otpTimestamps.put(request.getEmail(), System.currentTimeMillis());
 
-            // Send OTP email
-            try {
-                emailService.sendOtpEmail(request.getEmail(), otp);
-                log.info("OTP email sent successfully to: {}", request.getEmail());
-            } catch (Exception e) {
-                log.error("Failed to send OTP email to: {}", request.getEmail(), e);
-                // Continue anyway - OTP is stored, user can retry
-            }
+            // Send OTP email; delivery happens in the background, failures there are dead-lettered
+            emailService.sendOtpEmail(request.getEmail(), otp);
+            log.info("OTP email queued for: {}", request.getEmail());
 
             return new ApiResponse(true, "OTP has been sent to the registered email: " + request.getEmail());
+        } catch (MailQueueFullException e) {
+            // Answered with 503 so the client retries, instead of waiting for an OTP that never comes
+            throw e;
         } catch (Exception e) {
             log.error("Registration failed for email: {}", request.getEmail(), e);
             return new ApiResponse(false, "Registration failed: " + e.getMessage());
@@ -129,37 +133,35 @@ public class UserService {
     }
 
     public AuthResponse login(LoginRequest request) {
-        try {
-            log.info("Login attempt for email: {}", request.getEmail());
+        log.info("Login attempt for email: {}", request.getEmail());
 
-            Optional<User> userOptional = userRepository.findByUseremail(request.getEmail());
+        // Login is anonymous, so read-your-writes does not cover an account verified moments ago; the
+        // cached entity is skipped too, since another node may have changed the password since
+        Optional<User> userOptional = ReadWriteRoutingDataSource.onPrimary(
+                () -> userRepository.findByUseremailFromDatabase(request.getEmail()));
 
-            if (userOptional.isEmpty()) {
-                log.warn("User not found with email: {}", request.getEmail());
-                throw new RuntimeException("Invalid email or password");
-            }
+        if (userOptional.isEmpty()) {
+            log.warn("User not found with email: {}", request.getEmail());
+            throw new AuthenticationFailedException("Invalid email or password");
+        }
 
-            User user = userOptional.get();
+        User user = userOptional.get();
 
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                log.warn("Invalid password for email: {}", request.getEmail());
-                throw new RuntimeException("Invalid email or password");
-            }
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            log.warn("Invalid password for email: {}", request.getEmail());
+            throw new AuthenticationFailedException("Invalid email or password");
+        }
 
-            // IMPORTANT: Pass "USER" as the role, NOT "ROLE_USER"
-            String token = jwtUtil.generateToken(user.getUseremail(), "USER");
-            log.info("Login successful for email: {}, Token contains role: USER", request.getEmail());
+        // IMPORTANT: Pass "USER" as the role, NOT "ROLE_USER"
+        String token = jwtUtil.generateToken(user.getUseremail(), "USER");
+        log.info("Login successful for email: {}, Token contains role: USER", request.getEmail());
 
-            return new AuthResponse(token, user.getUseremail(), user.getUsername());
-        } catch (Exception e) {
-            log.error("Login failed for email: {}", request.getEmail(), e);
-            throw e;
-        }
+        return new AuthResponse(token, user.getUseremail(), user.getUsername());
     }
 
     public User getUserByEmail(String email) {
         return userRepository.findByUseremail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new NotFoundException("User not found"));
     }
 
     @Transactional
@@ -173,19 +175,17 @@ public class UserService {
             }
 
             String otp = otpUtil.generateNumericOtp(6);
-            log.info("Generated reset OTP for {}: {}", email, otp);
+            log.info("Generated reset OTP for {}", email);
 
             otpStorage.put(email, otp);
             otpTimestamps.put(email, System.currentTimeMillis());
 
-            try {
-                emailService.sendOtpEmail(email, otp);
-                log.info("Reset OTP email sent successfully to: {}", email);
-            } catch (Exception e) {
-                log.error("Failed to send reset OTP email to: {}", email, e);
-            }
+            emailService.sendOtpEmail(email, otp);
+            log.info("Reset OTP email queued for: {}", email);
 
             return new ApiResponse(true, "OTP has been sent to " + email);
+        } catch (MailQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Password reset initiation failed for email: {}", email, e);
             return new ApiResponse(false, "Failed to initiate password reset: " + e.getMessage());
@@ -230,7 +230,8 @@ public class UserService {
         try {
             log.info("Password reset for email: {}", email);
 
-            User user = getUserByEmail(email);
+            User user = userRepository.findByUseremailFromDatabase(email)
+                    .orElseThrow(() -> new NotFoundException("User not found"));
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
 
@@ -0,0 +1,109 @@
+package com.ecommerce.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into literal segments and {{placeholder}} slots.
+ * Rendering only appends segments and values into a per-thread buffer.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final boolean html;
+    // literals.length == slots.length + 1, rendered as literal, slot, literal, ...
+    private final String[] literals;
+    private final String[] slots;
+    private final int estimatedLength;
+
+    private EmailTemplate(String name, boolean html, String[] literals, String[] slots) {
+        this.name = name;
+        this.html = html;
+        this.literals = literals;
+        this.slots = slots;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + slots.length * 32;
+    }
+
+    public static EmailTemplate compile(String name, String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, pos);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template " + name + " at offset " + open);
+            }
+            literals.add(source.substring(pos, open));
+            slots.add(source.substring(open + OPEN.length(), close).trim());
+            pos = close + CLOSE.length();
+        }
+        literals.add(source.substring(pos));
+
+        return new EmailTemplate(name, html, literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(estimatedLength);
+
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                if (html) {
+                    appendEscaped(out, value);
+                } else {
+                    out.append(value);
+                }
+            }
+        }
+        out.append(literals[slots.length]);
+
+        String rendered = out.toString();
+        // Do not let one huge render pin a large buffer to the thread
+        if (out.capacity() > 64 * 1024) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
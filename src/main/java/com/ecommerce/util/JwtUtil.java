@@ -1,39 +1,85 @@
 package com.ecommerce.util;
 
+import com.ecommerce.security.JwtKeyRing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private final JwtKeyRing keyRing;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    // While signing with the key ring, kid-less HS256 tokens are accepted only before this instant (ISO-8601);
+    // empty means jwt.expiration after the deployment switched to the ring
+    @Value("${jwt.legacy-hs256-until:}")
+    private String legacyHs256Until;
+
+    private SecretKey legacySigningKey;
+    private Instant legacyCutoff;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        legacySigningKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        if (StringUtils.hasText(legacyHs256Until)) {
+            legacyCutoff = Instant.parse(legacyHs256Until.trim());
+        } else if (keyRing.isAsymmetric()) {
+            // The last token signed with jwt.secret before the switch expires by then
+            legacyCutoff = Instant.ofEpochMilli(keyRing.getAsymmetricSince() + expiration);
+        }
+
+        // Tokens carrying a kid are verified with the matching ring key;
+        // tokens without one are HS256 tokens signed with jwt.secret
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            if (!keyRing.isAsymmetric() || (legacyCutoff != null && Instant.now().isBefore(legacyCutoff))) {
+                                return legacySigningKey;
+                            }
+                            throw new JwtException("Tokens without a signing key id are no longer accepted");
+                        }
+                        PublicKey publicKey = keyRing.getPublicKey(kid);
+                        if (publicKey == null) {
+                            throw new JwtException("Unknown signing key id: " + kid);
+                        }
+                        return publicKey;
+                    }
+                })
+                .build();
     }
 
-    // ✅ works with jjwt 0.12.x
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()                           // <-- new API in 0.12.x
-                .verifyWith(getSigningKey())           // replaces setSigningKey()
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();                         // replaces getBody()
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> resolver) {
@@ -56,12 +102,21 @@ public class JwtUtil {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
 
-        return Jwts.builder()
+        long now = System.currentTimeMillis();
+        var builder = Jwts.builder()
                 .claims(claims)
                 .subject(username)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration));
+
+        if (!keyRing.isAsymmetric()) {
+            return builder.signWith(legacySigningKey, Jwts.SIG.HS256).compact();
+        }
+
+        JwtKeyRing.SigningKey signingKey = keyRing.getActiveKey();
+        return builder
+                .header().keyId(signingKey.kid()).and()
+                .signWith(signingKey.privateKey(), signingKey.algorithm())
                 .compact();
     }
 
@@ -0,0 +1,109 @@
+package com.ecommerce.util;
+
+import java.util.Locale;
+
+/**
+ * Per-request accumulators for named phases, held in a thread local by
+ * RequestTimingFilter. When no timing is active (feature off, or work outside
+ * a request) {@link #record} is a thread-local read and a null check.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        AUTH("auth"),
+        DB("db"),
+        PAYMENT("payment"),
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private boolean detailAllowed;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += elapsedNanos;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    // Called once the caller is known to be an admin, who may see the breakdown of flagged requests
+    public static void allowDetail() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.detailAllowed = true;
+        }
+    }
+
+    public boolean isDetailAllowed() {
+        return detailAllowed;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // e.g. auth;dur=0.41, db;dur=12.80;desc="3 calls", total;dur=18.02
+    public String toServerTiming(long totalNanos) {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metricName).append(";dur=").append(millis(nanos[phase.ordinal()]));
+            if (count > 1) {
+                header.append(";desc=\"").append(count).append(" calls\"");
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    // e.g. auth=0.41ms db=12.80ms(3)
+    public String summary() {
+        StringBuilder summary = new StringBuilder(96);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            if (summary.length() > 0) {
+                summary.append(' ');
+            }
+            summary.append(phase.metricName).append('=').append(millis(nanos[phase.ordinal()])).append("ms");
+            if (count > 1) {
+                summary.append('(').append(count).append(')');
+            }
+        }
+        return summary.length() == 0 ? "no recorded phases" : summary.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,74 @@
+-- Schema as previously created by hibernate.ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE TABLE admin_details (
+    admin_id BINARY(16) NOT NULL,
+    admin_username VARCHAR(255) NOT NULL,
+    admin_email VARCHAR(255) NOT NULL,
+    admin_password VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
+    phone VARCHAR(255),
+    is_approved BIT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (admin_id),
+    CONSTRAINT uk_admin_details_admin_email UNIQUE (admin_email)
+);
+
+CREATE TABLE users (
+    user_id BINARY(16) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    useremail VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
+    gender VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_useremail UNIQUE (useremail)
+);
+
+CREATE TABLE items (
+    itemid BINARY(16) NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    description TEXT,
+    item_cost DECIMAL(38, 2) NOT NULL,
+    item_quantity INT NOT NULL,
+    item_category VARCHAR(255) NOT NULL,
+    added_by VARCHAR(255),
+    imgname VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (itemid)
+);
+
+CREATE TABLE orders (
+    order_id BIGINT NOT NULL,
+    item_id BINARY(16),
+    item_name VARCHAR(255),
+    total DECIMAL(38, 2),
+    payment_by VARCHAR(255),
+    payment_id VARCHAR(255),
+    order_status VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (order_id)
+);
+
+CREATE TABLE reviews (
+    review_id BIGINT NOT NULL,
+    review_text TEXT,
+    itemid BINARY(16),
+    added_by VARCHAR(255),
+    rating INT,
+    created_at DATETIME(6),
+    PRIMARY KEY (review_id)
+);
+
+CREATE TABLE contact_details (
+    contact_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (contact_id)
+);
@@ -0,0 +1,7 @@
+-- Pooled id blocks for orders, reviews and contact_details (see @TableGenerator).
+-- May already exist where ddl-auto=update created it before migrations were introduced.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+);
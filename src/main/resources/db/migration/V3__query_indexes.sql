@@ -0,0 +1,17 @@
+-- One index per hot repository query; QueryPlanTest fails the build if any of them
+-- stops being used. Equality column first, then the ORDER BY column.
+
+-- ItemRepository.findByAddedByOrderByCreatedAtDesc (admin dashboard)
+CREATE INDEX idx_items_added_by_created ON items (added_by, created_at);
+
+-- ItemRepository.findByItemCategoryOrderByCreatedAtDesc (catalog filter)
+CREATE INDEX idx_items_category_created ON items (item_category, created_at);
+
+-- ItemRepository.countByImgname / renameImage (image reference counting)
+CREATE INDEX idx_items_imgname ON items (imgname);
+
+-- OrderRepository.findByPaymentByOrderByCreatedAtDesc (order history)
+CREATE INDEX idx_orders_payment_by_created ON orders (payment_by, created_at);
+
+-- ReviewRepository.findByItemIdOrderByCreatedAtDesc (item page)
+CREATE INDEX idx_reviews_itemid_created ON reviews (itemid, created_at);
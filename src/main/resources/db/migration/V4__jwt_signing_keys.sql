@@ -0,0 +1,11 @@
+-- Asymmetric JWT signing keys shared by every node (see JwtKeyRing).
+-- Private keys are PKCS#8, AES-GCM encrypted with jwt.key-encryption-secret; rows past retire_at are purged.
+CREATE TABLE jwt_signing_keys (
+    kid VARCHAR(64) NOT NULL,
+    algorithm VARCHAR(16) NOT NULL,
+    public_key VARBINARY(512) NOT NULL,
+    private_key VARBINARY(1024) NOT NULL,
+    created_at BIGINT NOT NULL,
+    retire_at BIGINT,
+    PRIMARY KEY (kid)
+);
@@ -0,0 +1,7 @@
+-- Heartbeat row stamped on the primary by ReplicaLagMonitor; its replicated copy shows the replica's lag.
+-- May already exist where the monitor created it before this migration.
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,9 @@
+-- Images stored through POST /api/items/upload, stamped each time they are uploaded. An image whose
+-- stamp is older than file.pending-upload-ttl-ms is deleted unless an item references it by then.
+CREATE TABLE pending_uploads (
+    filename VARCHAR(255) NOT NULL,
+    created_at BIGINT NOT NULL,
+    PRIMARY KEY (filename)
+);
+
+CREATE INDEX idx_pending_uploads_created_at ON pending_uploads (created_at);
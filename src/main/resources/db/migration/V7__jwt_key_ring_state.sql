@@ -0,0 +1,7 @@
+-- When this deployment first signed with the key ring (see JwtKeyRing). Kid-less HS256 tokens from
+-- before that are accepted for one jwt.expiration after it, unless jwt.legacy-hs256-until says otherwise.
+CREATE TABLE jwt_key_ring_state (
+    id INT NOT NULL,
+    asymmetric_since BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
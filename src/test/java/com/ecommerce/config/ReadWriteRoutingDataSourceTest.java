@@ -0,0 +1,155 @@
+package com.ecommerce.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReadWriteRoutingDataSource routing;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        routing = new ReadWriteRoutingDataSource(200);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        monitor = new ReplicaLagMonitor(primary, replica, routing, 1000);
+        for (EmbeddedDatabase database : List.of(primary, replica)) {
+            new JdbcTemplate(database).execute(
+                    "CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        }
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE db_marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO db_marker VALUES (?)", name);
+        return database;
+    }
+
+    // Stands in for replication catching up with the primary's heartbeat
+    private void replicate(long beatAt) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM replication_heartbeat");
+        replicaJdbc.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+    }
+
+    private String readOnlyTarget() {
+        return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM db_marker", String.class));
+    }
+
+    private void loginAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Test
+    void routesByTransactionReadOnlyFlag() {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+
+        assertEquals("replica", readOnlyTarget());
+        assertEquals("primary", readWrite.execute(status ->
+                jdbc.queryForObject("SELECT name FROM db_marker", String.class)));
+    }
+
+    @Test
+    void readsOwnWritesFromPrimaryWithinWindow() throws InterruptedException {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        loginAs("writer@example.com");
+
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE db_marker SET name = name"));
+        assertEquals("primary", readOnlyTarget());
+
+        loginAs("someone-else@example.com");
+        assertEquals("replica", readOnlyTarget());
+
+        Thread.sleep(250);
+        loginAs("writer@example.com");
+        assertEquals("replica", readOnlyTarget());
+    }
+
+    @Test
+    void guestWritesDoNotPinOtherGuestsToPrimary() {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE db_marker SET name = name"));
+        assertEquals("replica", readOnlyTarget());
+        assertEquals("primary", ReadWriteRoutingDataSource.onPrimary(this::readOnlyTarget));
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLags() {
+        replicate(System.currentTimeMillis() - 5000);
+        monitor.check();
+        assertEquals("primary", readOnlyTarget());
+
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        assertEquals("replica", readOnlyTarget());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaIsDown() {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        replica.shutdown();
+
+        monitor.check();
+        assertEquals(-1, monitor.getLastLagMs());
+        assertEquals("primary", readOnlyTarget());
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.config;
+
+import com.ecommerce.security.JwtKeyRing;
+import com.ecommerce.util.JwtUtil;
+import com.ecommerce.util.RequestTiming;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingFilterTest {
+
+    private JwtUtil jwtUtil;
+    private RequestTimingFilter filter;
+    // Whether the app below the filter was handed a buffering response
+    private boolean buffered;
+
+    @BeforeEach
+    void setUp() {
+        // HS256 needs no key ring storage
+        JwtKeyRing keyRing = new JwtKeyRing(null, null);
+        ReflectionTestUtils.setField(keyRing, "algorithm", "HS256");
+        keyRing.init();
+        jwtUtil = new JwtUtil(keyRing);
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-that-is-at-least-256-bits-long-for-hs256-tokens");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60000L);
+        ReflectionTestUtils.setField(jwtUtil, "legacyHs256Until", "");
+        jwtUtil.init();
+
+        filter = new RequestTimingFilter(jwtUtil);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        ReflectionTestUtils.setField(filter, "slowThresholdMs", 1000L);
+    }
+
+    // Stands in for the app: two repository calls and a body, as an admin or not
+    private MockFilterChain chain(boolean admin) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                buffered = response instanceof ContentCachingResponseWrapper;
+                if (admin) {
+                    RequestTiming.allowDetail();
+                }
+                RequestTiming.record(RequestTiming.Phase.DB, 2_000_000);
+                RequestTiming.record(RequestTiming.Phase.DB, 3_000_000);
+                response.getWriter().write("{\"success\":true}");
+            }
+        });
+    }
+
+    private MockHttpServletRequest flagged(String uri, String role) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(RequestTimingFilter.DEBUG_TIMING_HEADER, "1");
+        if (role != null) {
+            request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("someone@shopverse.test", role));
+        }
+        return request;
+    }
+
+    @Test
+    void flaggedAdminRequestGetsBreakdown() throws Exception {
+        MockHttpServletRequest request = flagged("/api/items/all", "ADMIN");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain(true));
+
+        String serverTiming = response.getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("db;dur=5.00;desc=\"2 calls\", total;dur="), serverTiming);
+        assertEquals("{\"success\":true}", response.getContentAsString());
+    }
+
+    @Test
+    void flagIsIgnoredAndNothingBufferedForNonAdmins() throws Exception {
+        MockHttpServletRequest forged = flagged("/api/items/all", null);
+        forged.addHeader("Authorization", "Bearer not-a-token");
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] {
+                flagged("/api/items/all", "USER"), flagged("/api/items/all", null), forged}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, chain(false));
+
+            assertFalse(buffered);
+            assertNull(response.getHeader("Server-Timing"));
+            assertEquals("{\"success\":true}", response.getContentAsString());
+        }
+    }
+
+    @Test
+    void orderStreamsAreNeverBuffered() throws Exception {
+        filter.doFilter(flagged("/api/orders/stream", "ADMIN"), new MockHttpServletResponse(), chain(true));
+        assertFalse(buffered);
+
+        filter.doFilter(flagged("/api/items/all", "ADMIN"), new MockHttpServletResponse(), chain(true));
+        assertTrue(buffered);
+    }
+
+    @Test
+    void requestIdIsPropagatedOrGenerated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/all");
+        request.addHeader(RequestTimingFilter.REQUEST_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain(false));
+        assertEquals("abc-123", response.getHeader(RequestTimingFilter.REQUEST_ID_HEADER));
+
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/items/all");
+        forged.addHeader(RequestTimingFilter.REQUEST_ID_HEADER, "bad id\r\nX-Evil: 1");
+        MockHttpServletResponse generated = new MockHttpServletResponse();
+        filter.doFilter(forged, generated, chain(false));
+        assertTrue(generated.getHeader(RequestTimingFilter.REQUEST_ID_HEADER).matches("[0-9a-f]{1,16}"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileControllerTest {
+
+    private static long[] parseRange(String header, long length) {
+        return ReflectionTestUtils.invokeMethod(FileController.class, "parseRange", header, length);
+    }
+
+    @Test
+    void satisfiableRangesAreClampedToTheFile() {
+        assertArrayEquals(new long[]{0, 99}, parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[]{900, 999}, parseRange("bytes=900-", 1000));
+        assertArrayEquals(new long[]{990, 999}, parseRange("bytes=990-5000", 1000));
+        assertArrayEquals(new long[]{800, 999}, parseRange("bytes=-200", 1000));
+    }
+
+    @Test
+    void invalidRangesAreIgnoredButRangesPastTheEndAreUnsatisfiable() {
+        // Ignored: the whole file is served with 200
+        assertNull(parseRange("bytes=500-100", 1000));
+        assertNull(parseRange("bytes=0-1,5-9", 1000));
+        assertNull(parseRange("items=0-1", 1000));
+
+        // Unsatisfiable: 416
+        assertArrayEquals(new long[0], parseRange("bytes=1000-", 1000));
+        assertArrayEquals(new long[0], parseRange("bytes=2000-3000", 1000));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.exception;
+
+import com.ecommerce.controller.ContactController;
+import com.ecommerce.service.ContactService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private final ContactService contactService = mock(ContactService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ContactController(contactService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void domainExceptionsCarryNoStackTrace() {
+        assertEquals(0, new NotFoundException("Item not found").getStackTrace().length);
+        assertEquals(0, new AuthenticationFailedException("Invalid email or password").getStackTrace().length);
+    }
+
+    @Test
+    void notFoundMapsTo404WithItsMessage() throws Exception {
+        when(contactService.getContactById(42L)).thenThrow(new NotFoundException("Contact not found"));
+
+        mockMvc.perform(get("/api/contact/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Contact not found"));
+    }
+
+    @Test
+    void malformedIdMapsTo400() throws Exception {
+        mockMvc.perform(get("/api/contact/not-a-number"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid contactId"));
+    }
+
+    @Test
+    void unknownPathMapsTo404() throws Exception {
+        mockMvc.perform(get("/api/no-such-endpoint"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unexpectedFailuresStay500() throws Exception {
+        when(contactService.getContactById(7L)).thenThrow(new IllegalStateException("connection reset"));
+
+        mockMvc.perform(get("/api/contact/7"))
+                .andExpect(status().isInternalServerError());
+    }
+}
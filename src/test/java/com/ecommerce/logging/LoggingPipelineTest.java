@@ -0,0 +1,151 @@
+package com.ecommerce.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggingPipelineTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(MDC.getMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+        MDC.clear();
+    }
+
+    @Test
+    void redactsOtpsTokensAndSecrets() {
+        assertEquals("Generated OTP for a@b.com: ******", Redactor.redact("Generated OTP for a@b.com: 483920"));
+        assertEquals("Authorization: Bearer [REDACTED]", Redactor.redact("Authorization: Bearer abc.def.ghi"));
+        assertEquals("jwt [REDACTED] rejected", Redactor.redact("jwt eyJhbGciOiJFUzI1NiJ9.eyJzdWIiOiJhIn0.c2ln rejected"));
+        assertEquals("confirmation token: [REDACTED]", Redactor.redact("confirmation token: 6f1c2a7e-1b2c"));
+        assertEquals("password=[REDACTED], user=bob", Redactor.redact("password=hunter2, user=bob"));
+
+        String plain = "Items fetched successfully";
+        assertTrue(plain == Redactor.redact(plain), "messages without trigger words are returned as is");
+        assertEquals("Token contains role: USER", Redactor.redact("Token contains role: USER"));
+    }
+
+    @Test
+    void samplesConfiguredLoggersButKeepsErrors() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.addSample("com.ecommerce.hot=10");
+        filter.start();
+        context.addTurboFilter(filter);
+
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        long sampledBefore = LoggingMetrics.getSampledOut();
+        Logger hot = context.getLogger("com.ecommerce.hot");
+        Logger other = context.getLogger("com.ecommerce.other");
+        for (int i = 0; i < 100; i++) {
+            hot.info("fetch {}", i);
+            hot.debug("disabled {}", i);
+            other.info("kept {}", i);
+        }
+        hot.error("always kept");
+
+        long hotInfo = appender.list.stream().filter(e -> e.getLoggerName().equals("com.ecommerce.hot")
+                && e.getLevel() == Level.INFO).count();
+        assertEquals(10, hotInfo);
+        assertEquals(100, appender.list.stream().filter(e -> e.getLoggerName().equals("com.ecommerce.other")).count());
+        assertTrue(appender.list.stream().anyMatch(e -> e.getLevel() == Level.ERROR));
+        // Disabled DEBUG calls are not counted as sampled
+        assertEquals(90, LoggingMetrics.getSampledOut() - sampledBefore);
+    }
+
+    @Test
+    void fullQueueDropsInsteadOfBlockingAndCountsDrops() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setContext(context);
+        async.setName("test");
+        async.setQueueSize(10);
+        async.setDiscardingThreshold(0);
+        async.addAppender(slow);
+        async.start();
+
+        Logger logger = context.getLogger("com.ecommerce.flood");
+        logger.addAppender(async);
+        logger.setAdditive(false);
+
+        long droppedBefore = LoggingMetrics.getDropped();
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            logger.warn("event {}", i);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+
+        // At most the queue plus the batch held by the blocked worker got through
+        assertTrue(LoggingMetrics.getDropped() - droppedBefore >= 1000 - 10 - 256);
+        assertTrue(elapsedMs < 2000, "logging thread must not block on a stalled appender");
+    }
+
+    @Test
+    void jsonLayoutWritesOneRedactedObjectPerLine() throws Exception {
+        JsonLayout layout = new JsonLayout();
+        layout.setContext(context);
+        layout.start();
+
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger logger = context.getLogger("com.ecommerce.service.UserService");
+        logger.addAppender(appender);
+
+        MDC.put("requestId", "r-1");
+        logger.warn("Generated OTP for {}: {}\t\"quoted\"", "a@b.com", "123456", new IllegalStateException("boom"));
+
+        String line = layout.doLayout(appender.list.get(0));
+        assertTrue(line.endsWith(System.lineSeparator()));
+        assertFalse(line.trim().contains("\n"));
+
+        JsonNode json = new ObjectMapper().readTree(line);
+        assertEquals("WARN", json.get("level").asText());
+        assertEquals("com.ecommerce.service.UserService", json.get("logger").asText());
+        assertEquals("Generated OTP for a@b.com: ******\t\"quoted\"", json.get("message").asText());
+        assertEquals("r-1", json.get("requestId").asText());
+        assertTrue(json.get("stack_trace").asText().contains("IllegalStateException: boom"));
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.support.StatementCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs the hot repository queries against a seeded database built by the Flyway
+ * migrations and checks with EXPLAIN that each one is served by its index.
+ * Uses H2 in MySQL mode by default; point spring.datasource.* at a MySQL instance
+ * to check the real planner.
+ *
+ * ItemRepository.searchItems is deliberately not covered: its leading-wildcard
+ * LIKE cannot use a B-tree index on any database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final int ADMINS = 40;
+    private static final int ITEMS_PER_ADMIN = 50;
+    private static final int USERS = 200;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Seeded once and shared; no test depends on rows another test changes
+    private static UUID reviewedItem;
+
+    @BeforeEach
+    void seed() {
+        if (reviewedItem != null) {
+            return;
+        }
+
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> reviews = new ArrayList<>();
+        for (int admin = 0; admin < ADMINS; admin++) {
+            for (int i = 0; i < ITEMS_PER_ADMIN; i++) {
+                UUID itemId = UUID.randomUUID();
+                if (reviewedItem == null) {
+                    reviewedItem = itemId;
+                }
+                items.add(new Object[]{bytes(itemId), "Item " + admin + "-" + i, "10.00", 5,
+                        "category-" + (i % 20), "admin" + admin + "@shop.test", "img-" + admin + "-" + i + ".jpg"});
+                reviews.add(new Object[]{(long) items.size(), "Nice", bytes(itemId), "user" + (i % USERS) + "@shop.test", 5});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (itemid, item_name, item_cost, item_quantity, item_category, "
+                + "added_by, imgname, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO reviews (review_id, review_text, itemid, added_by, rating, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", reviews);
+
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < ADMINS * ITEMS_PER_ADMIN; i++) {
+            orders.add(new Object[]{(long) i + 1, "25.00", "user" + (i % USERS) + "@shop.test"});
+        }
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{bytes(UUID.randomUUID()), "user" + i, "user" + i + "@shop.test", "hash"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_id, total, payment_by, order_status, created_at) "
+                + "VALUES (?, ?, ?, 'PAID', CURRENT_TIMESTAMP)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, username, useremail, password) VALUES (?, ?, ?, ?)", users);
+        jdbcTemplate.update("INSERT INTO admin_details (admin_id, admin_username, admin_email, admin_password, is_approved) "
+                + "VALUES (?, 'admin', 'admin0@shop.test', 'hash', TRUE)", (Object) bytes(UUID.randomUUID()));
+
+        analyze();
+    }
+
+    @Test
+    void itemsByAdminUseAddedByIndex() {
+        assertUsesIndex(() -> itemRepository.findByAddedByOrderByCreatedAtDesc("admin7@shop.test"),
+                "idx_items_added_by_created", "admin7@shop.test");
+    }
+
+    @Test
+    void itemsByCategoryUseCategoryIndex() {
+        assertUsesIndex(() -> itemRepository.findByItemCategoryOrderByCreatedAtDesc("category-3"),
+                "idx_items_category_created", "category-3");
+    }
+
+    @Test
+    void imageReferenceCountUsesImgnameIndex() {
+        assertUsesIndex(() -> itemRepository.countByImgname("img-3-4.jpg"),
+                "idx_items_imgname", "img-3-4.jpg");
+    }
+
+    @Test
+    void imageRenameUsesImgnameIndex() {
+        assertUsesIndex(() -> itemRepository.renameImage("img-3-4.jpg", "renamed.jpg"),
+                "idx_items_imgname", "renamed.jpg", "img-3-4.jpg");
+    }
+
+    @Test
+    void ordersByUserUsePaymentByIndex() {
+        assertUsesIndex(() -> orderRepository.findByPaymentByOrderByCreatedAtDesc("user9@shop.test"),
+                "idx_orders_payment_by_created", "user9@shop.test");
+    }
+
+    @Test
+    void reviewsByItemUseItemIndex() {
+        assertUsesIndex(() -> reviewRepository.findByItemIdOrderByCreatedAtDesc(reviewedItem),
+                "idx_reviews_itemid_created", (Object) bytes(reviewedItem));
+    }
+
+    @Test
+    void userByEmailUsesUniqueIndex() {
+        assertUsesIndex(() -> userRepository.findByUseremail("user9@shop.test"),
+                "uk_users_useremail", "user9@shop.test");
+    }
+
+    @Test
+    void adminByEmailUsesUniqueIndex() {
+        assertUsesIndex(() -> adminRepository.findByAdminEmail("admin0@shop.test"),
+                "uk_admin_details_admin_email", "admin0@shop.test");
+    }
+
+    // Explains the first statement the repository call issued, bound with the given parameters
+    private void assertUsesIndex(Runnable repositoryCall, String index, Object... parameters) {
+        List<String> statements = StatementCount.capture(repositoryCall);
+        assertFalse(statements.isEmpty(), "Repository call issued no SQL");
+        String sql = statements.get(0);
+
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    explain.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    assertPlan(plan, index, sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void assertPlan(ResultSet plan, String index, String sql) throws SQLException {
+        ResultSetMetaData columns = plan.getMetaData();
+        boolean mysql = hasColumn(columns, "type") && hasColumn(columns, "key");
+        StringBuilder text = new StringBuilder();
+        boolean indexUsed = false;
+
+        while (plan.next()) {
+            if (mysql) {
+                String access = plan.getString("type");
+                String key = plan.getString("key");
+                text.append(access).append(' ').append(key).append('\n');
+                if ("ALL".equalsIgnoreCase(access)) {
+                    fail("Full table scan for:\n" + sql + "\nPlan:\n" + text);
+                }
+                indexUsed |= index.equalsIgnoreCase(key);
+            } else {
+                String row = plan.getString(1);
+                text.append(row).append('\n');
+                if (row.contains(".tableScan")) {
+                    fail("Full table scan for:\n" + sql + "\nPlan:\n" + text);
+                }
+                indexUsed |= row.toLowerCase(Locale.ROOT).contains(index);
+            }
+        }
+        assertTrue(indexUsed, "Expected " + index + " for:\n" + sql + "\nPlan:\n" + text);
+    }
+
+    private static boolean hasColumn(ResultSetMetaData columns, String name) throws SQLException {
+        for (int i = 1; i <= columns.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(columns.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void analyze() {
+        String product = jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(product)) {
+            jdbcTemplate.execute("ANALYZE TABLE items, orders, reviews, users, admin_details");
+        } else {
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecommerce.security;
+
+import com.ecommerce.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several key rings over one database stand in for several nodes.
+ */
+class JwtKeyRingTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long-for-hs256-tokens";
+    private static final String ENCRYPTION_SECRET = "test-key-encryption-secret";
+    private static final long DAY = 86_400_000L;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:jwt_keys_" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private JwtKeyRing node(String algorithm, long expiration, String encryptionSecret) {
+        JwtKeyRing keyRing = new JwtKeyRing(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(keyRing, "algorithm", algorithm);
+        ReflectionTestUtils.setField(keyRing, "expiration", expiration);
+        ReflectionTestUtils.setField(keyRing, "rotationInterval", DAY);
+        ReflectionTestUtils.setField(keyRing, "encryptionSecret", encryptionSecret);
+        keyRing.init();
+        return keyRing;
+    }
+
+    private JwtKeyRing node() {
+        return node("ES256", DAY, ENCRYPTION_SECRET);
+    }
+
+    private JwtUtil jwtUtil(JwtKeyRing keyRing, String legacyHs256Until) {
+        JwtUtil jwtUtil = new JwtUtil(keyRing);
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", DAY);
+        ReflectionTestUtils.setField(jwtUtil, "legacyHs256Until", legacyHs256Until);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private int storedKeys() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM jwt_signing_keys", Integer.class);
+    }
+
+    @Test
+    void tokensSignedOnOneNodeVerifyOnAnotherAndAfterARestart() {
+        JwtKeyRing nodeA = node();
+        String token = jwtUtil(nodeA, "").generateToken("shopper@shopverse.test", "USER");
+
+        JwtKeyRing nodeB = node();
+        assertEquals(nodeA.getActiveKey().kid(), nodeB.getActiveKey().kid());
+        assertEquals("shopper@shopverse.test", jwtUtil(nodeB, "").extractUsername(token));
+        assertEquals(1, storedKeys());
+    }
+
+    @Test
+    void privateKeysAreStoredEncrypted() {
+        JwtKeyRing nodeA = node();
+        byte[] stored = jdbcTemplate.queryForObject("SELECT private_key FROM jwt_signing_keys", byte[].class);
+
+        assertFalse(Arrays.equals(nodeA.getActiveKey().privateKey().getEncoded(), stored));
+        assertThrows(IllegalStateException.class, () -> node("ES256", DAY, "some-other-secret"));
+    }
+
+    @Test
+    void withoutAnEncryptionSecretTheRingStaysOffAndHs256TokensKeepWorking() {
+        String before = jwtUtil(node("HS256", DAY, ""), "").generateToken("shopper@shopverse.test", "USER");
+
+        JwtKeyRing unconfigured = node("ES256", DAY, "");
+
+        assertFalse(unconfigured.isAsymmetric());
+        assertEquals(0, storedKeys());
+        assertEquals("shopper@shopverse.test", jwtUtil(unconfigured, "").extractUsername(before));
+    }
+
+    @Test
+    void rotationOnOneNodeKeepsOldTokensValidEverywhere() {
+        JwtKeyRing nodeA = node();
+        JwtKeyRing nodeB = node();
+        JwtUtil signer = jwtUtil(nodeA, "");
+        JwtUtil verifier = jwtUtil(nodeB, "");
+        String before = signer.generateToken("shopper@shopverse.test", "USER");
+        String oldKid = nodeA.getActiveKey().kid();
+
+        nodeA.rotate();
+        String after = signer.generateToken("admin@shopverse.test", "ADMIN");
+
+        assertNotEquals(oldKid, nodeA.getActiveKey().kid());
+        // As if node B's last reload was long ago, so the unknown kid makes it re-read the ring
+        ((AtomicLong) ReflectionTestUtils.getField(nodeB, "lastReload")).set(0);
+        assertEquals("admin@shopverse.test", verifier.extractUsername(after));
+        assertEquals("shopper@shopverse.test", verifier.extractUsername(before));
+        assertEquals(nodeA.getActiveKey().kid(), nodeB.getActiveKey().kid());
+        assertTrue(nodeB.getJwksJson().contains(oldKid));
+    }
+
+    @Test
+    void retiredKeysAreDroppedOnceTheirTokensHaveExpired() throws InterruptedException {
+        JwtKeyRing nodeA = node("EdDSA", 50, ENCRYPTION_SECRET);
+        String first = nodeA.getActiveKey().kid();
+
+        nodeA.rotate();
+        assertNotNull(nodeA.getPublicKey(first));
+
+        Thread.sleep(100);
+        assertNull(nodeA.getPublicKey(first));
+        nodeA.rotate();
+
+        assertEquals(2, storedKeys());
+        assertFalse(nodeA.getJwksJson().contains(first));
+    }
+
+    @Test
+    void tokensWithoutAKidNeedAnUnexpiredLegacyCutoff() {
+        JwtKeyRing nodeA = node();
+        String legacy = Jwts.builder()
+                .subject("shopper@shopverse.test")
+                .claim("role", "USER")
+                .expiration(new Date(System.currentTimeMillis() + DAY))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        String tomorrow = Instant.now().plusMillis(DAY).toString();
+        String yesterday = Instant.now().minusMillis(DAY).toString();
+        assertEquals("shopper@shopverse.test", jwtUtil(nodeA, tomorrow).extractUsername(legacy));
+        assertThrows(JwtException.class, () -> jwtUtil(nodeA, yesterday).extractUsername(legacy));
+
+        // Unset, the cutoff is one token lifetime after the switch, which every node agrees on
+        assertEquals("shopper@shopverse.test", jwtUtil(nodeA, "").extractUsername(legacy));
+        jdbcTemplate.update("UPDATE jwt_key_ring_state SET asymmetric_since = ?", System.currentTimeMillis() - 2 * DAY);
+        assertThrows(JwtException.class, () -> jwtUtil(node(), "").extractUsername(legacy));
+
+        // With HS256 configured there is no ring, so jwt.secret is the only key
+        JwtKeyRing hs256 = node("HS256", DAY, "");
+        assertEquals("shopper@shopverse.test", jwtUtil(hs256, "").extractUsername(legacy));
+    }
+}
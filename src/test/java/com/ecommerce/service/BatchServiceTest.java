@@ -0,0 +1,141 @@
+package com.ecommerce.service;
+
+import com.ecommerce.controller.ContactController;
+import com.ecommerce.dto.BatchPart;
+import com.ecommerce.dto.BatchPartResult;
+import com.ecommerce.exception.GlobalExceptionHandler;
+import com.ecommerce.exception.NotFoundException;
+import com.ecommerce.model.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchServiceTest {
+
+    @Configuration
+    @EnableWebMvc
+    static class WebConfig {
+    }
+
+    private final ContactService contactService = mock(ContactService.class);
+    private AnnotationConfigWebApplicationContext context;
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(WebConfig.class);
+        context.addBeanFactoryPostProcessor(beanFactory -> {
+            beanFactory.registerSingleton("contactController", new ContactController(contactService));
+            beanFactory.registerSingleton("globalExceptionHandler", new GlobalExceptionHandler());
+        });
+        context.refresh();
+        DispatcherServlet dispatcherServlet = new DispatcherServlet(context);
+        dispatcherServlet.init(new MockServletConfig(context.getServletContext()));
+
+        // Same shape as SecurityConfig: /api/contact/all is admin only, other routes need a login
+        RequestMatcherDelegatingAuthorizationManager rules = RequestMatcherDelegatingAuthorizationManager.builder()
+                .add(new AntPathRequestMatcher("/api/contact/all"), AuthorityAuthorizationManager.hasRole("ADMIN"))
+                .add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated())
+                .build();
+        batchService = new BatchService(dispatcherServlet,
+                new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, new AuthorizationFilter(rules)),
+                new ObjectMapper());
+        ReflectionTestUtils.setField(batchService, "maxParts", 10);
+        ReflectionTestUtils.setField(batchService, "workers", 2);
+        ReflectionTestUtils.setField(batchService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(batchService, "timeoutMs", 5000L);
+        batchService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.stop();
+        context.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    private BatchPart part(String id, String path) {
+        BatchPart part = new BatchPart();
+        part.setId(id);
+        part.setPath(path);
+        return part;
+    }
+
+    private List<BatchPartResult> run(Authentication authentication, BatchPart... parts) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return batchService.execute(List.of(parts), new MockHttpServletRequest("POST", "/api/batch"),
+                new MockHttpServletResponse());
+    }
+
+    private Authentication user(String role) {
+        return new UsernamePasswordAuthenticationToken("shopper@shopverse.test", null,
+                AuthorityUtils.createAuthorityList("ROLE_" + role));
+    }
+
+    @Test
+    void partsRunThroughTheirRoutesAndComeBackInOrder() {
+        Contact contact = new Contact();
+        contact.setContactId(1L);
+        contact.setName("Asha");
+        when(contactService.getContactById(1L)).thenReturn(contact);
+        when(contactService.getContactById(99L)).thenThrow(new NotFoundException("Contact not found"));
+
+        List<BatchPartResult> results = run(user("USER"),
+                part("found", "/api/contact/1"),
+                part("missing", "/api/contact/99"),
+                part("outside", "/uploads/a.png"),
+                part("nested", "/api/batch"));
+
+        assertEquals(List.of("found", "missing", "outside", "nested"),
+                results.stream().map(BatchPartResult::getId).toList());
+        assertEquals(200, results.get(0).getStatus());
+        assertTrue(results.get(0).getBody().contains("\"name\":\"Asha\""));
+        assertEquals(404, results.get(1).getStatus());
+        assertTrue(results.get(1).getBody().contains("Contact not found"));
+        assertEquals(400, results.get(2).getStatus());
+        assertEquals(400, results.get(3).getStatus());
+    }
+
+    @Test
+    void eachPartIsAuthorizedForItsOwnPath() {
+        when(contactService.getAllContacts()).thenReturn(List.of());
+        BatchPart adminOnly = part("all", "/api/contact/all");
+
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+        assertEquals(401, run(anonymous, adminOnly).get(0).getStatus());
+        assertEquals(403, run(user("USER"), adminOnly).get(0).getStatus());
+        assertEquals(200, run(user("ADMIN"), adminOnly).get(0).getStatus());
+    }
+}
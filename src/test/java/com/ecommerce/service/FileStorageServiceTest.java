@@ -0,0 +1,220 @@
+package com.ecommerce.service;
+
+import com.ecommerce.model.PendingUpload;
+import com.ecommerce.repository.ItemRepository;
+import com.ecommerce.repository.PendingUploadRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileStorageServiceTest {
+
+    // Just enough of a PNG for the magic-byte check
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0};
+
+    @TempDir
+    Path uploadDir;
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final PendingUploadRepository pendingUploadRepository = mock(PendingUploadRepository.class);
+    // Stands in for the pending_uploads table
+    private final Map<String, Long> pendingUploads = new ConcurrentHashMap<>();
+    private FileStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        when(pendingUploadRepository.save(any())).thenAnswer(invocation -> {
+            PendingUpload upload = invocation.getArgument(0);
+            pendingUploads.put(upload.getFilename(), upload.getCreatedAt());
+            return upload;
+        });
+        when(pendingUploadRepository.existsById(anyString()))
+                .thenAnswer(invocation -> pendingUploads.containsKey(invocation.<String>getArgument(0)));
+        when(pendingUploadRepository.findByCreatedAtBefore(anyLong())).thenAnswer(invocation -> {
+            long cutoff = invocation.getArgument(0);
+            return pendingUploads.entrySet().stream()
+                    .filter(entry -> entry.getValue() < cutoff)
+                    .map(entry -> new PendingUpload(entry.getKey(), entry.getValue()))
+                    .toList();
+        });
+        when(pendingUploadRepository.deleteExpired(anyString(), anyLong())).thenAnswer(invocation -> {
+            String filename = invocation.getArgument(0);
+            Long createdAt = pendingUploads.get(filename);
+            long cutoff = invocation.getArgument(1);
+            return createdAt != null && createdAt < cutoff && pendingUploads.remove(filename, createdAt) ? 1 : 0;
+        });
+
+        ImageCacheService imageCache = new ImageCacheService();
+        ReflectionTestUtils.setField(imageCache, "maxBytes", 1L << 20);
+        imageCache.init();
+        storage = new FileStorageService(itemRepository, pendingUploadRepository, imageCache);
+        ReflectionTestUtils.setField(storage, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(storage, "maxUploadBytes", 1024L);
+        ReflectionTestUtils.setField(storage, "pendingUploadTtlMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static byte[] png(String marker) {
+        byte[] body = marker.getBytes(StandardCharsets.UTF_8);
+        byte[] image = new byte[PNG_HEADER.length + body.length];
+        System.arraycopy(PNG_HEADER, 0, image, 0, PNG_HEADER.length);
+        System.arraycopy(body, 0, image, PNG_HEADER.length, body.length);
+        return image;
+    }
+
+    private String store(byte[] content) throws IOException {
+        return storage.storeStream(new ByteArrayInputStream(content), "photo.png");
+    }
+
+    // Runs on another thread, outside the test's simulated transaction
+    private void deleteElsewhere(String filename) {
+        CompletableFuture.runAsync(() -> storage.deleteFile(filename)).join();
+    }
+
+    private static void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void identicalContentIsStoredOnceUnderItsHash() throws Exception {
+        byte[] content = png("same");
+        String first = store(content);
+        String second = storage.storeUpload(new ByteArrayInputStream(content), content.length);
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(hash + ".png", first);
+        assertEquals(first, second);
+        Path stored = storage.loadFile(first);
+        assertEquals(uploadDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(first), stored);
+        assertArrayEquals(content, Files.readAllBytes(stored));
+    }
+
+    @Test
+    void uploadsAreCheckedForTypeAndSize() {
+        byte[] text = "definitely not an image".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.storeUpload(new ByteArrayInputStream(text), text.length));
+
+        byte[] large = png("x".repeat(2048));
+        assertThrows(MaxUploadSizeExceededException.class,
+                () -> storage.storeUpload(new ByteArrayInputStream(large), -1));
+        assertThrows(IllegalArgumentException.class, () -> storage.loadFile("../outside.png"));
+    }
+
+    @Test
+    void filesAreDeletedOnlyOnceNoItemReferencesThem() throws Exception {
+        String filename = store(png("shared"));
+        when(itemRepository.countByImgname(filename)).thenReturn(1L);
+        storage.deleteFile(filename);
+        assertTrue(Files.exists(storage.loadFile(filename)));
+
+        when(itemRepository.countByImgname(filename)).thenReturn(0L);
+        storage.deleteFile(filename);
+        assertFalse(Files.exists(storage.loadFile(filename)));
+    }
+
+    @Test
+    void fileReusedByAnUncommittedItemSurvivesAConcurrentDelete() throws Exception {
+        String filename = store(png("reused"));
+        when(itemRepository.countByImgname(filename)).thenReturn(0L);
+
+        // An item being saved reuses the blob; its row is not visible until it commits
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(filename, store(png("reused")));
+        deleteElsewhere(filename);
+        assertTrue(Files.exists(storage.loadFile(filename)));
+        completeTransaction();
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(storage.attach(filename));
+        deleteElsewhere(filename);
+        assertTrue(Files.exists(storage.loadFile(filename)));
+        completeTransaction();
+
+        deleteElsewhere(filename);
+        assertFalse(Files.exists(storage.loadFile(filename)));
+        assertFalse(storage.attach(filename));
+    }
+
+    @Test
+    void uploadsNoItemTakesUpAreSweptAfterTheTtl() throws Exception {
+        byte[] orphan = png("orphan");
+        byte[] used = png("used");
+        String orphaned = storage.storeUpload(new ByteArrayInputStream(orphan), orphan.length);
+        String attached = storage.storeUpload(new ByteArrayInputStream(used), used.length);
+        when(itemRepository.countByImgname(orphaned)).thenReturn(0L);
+        when(itemRepository.countByImgname(attached)).thenReturn(1L);
+
+        // Not referenced yet, but the handle is still waiting for its item
+        deleteElsewhere(orphaned);
+        assertTrue(Files.exists(storage.loadFile(orphaned)));
+        assertEquals(0, storage.sweepPendingUploads());
+
+        pendingUploads.replaceAll((filename, createdAt) -> createdAt - 120_000L);
+        assertEquals(2, storage.sweepPendingUploads());
+        assertFalse(Files.exists(storage.loadFile(orphaned)));
+        assertTrue(Files.exists(storage.loadFile(attached)));
+        assertTrue(pendingUploads.isEmpty());
+    }
+
+    @Test
+    void uploadingAgainRestartsTheTtl() throws Exception {
+        byte[] content = png("again");
+        String filename = storage.storeUpload(new ByteArrayInputStream(content), content.length);
+        when(itemRepository.countByImgname(filename)).thenReturn(0L);
+        pendingUploads.put(filename, System.currentTimeMillis() - 120_000L);
+
+        assertEquals(filename, storage.storeUpload(new ByteArrayInputStream(content), content.length));
+        assertEquals(0, storage.sweepPendingUploads());
+        assertTrue(Files.exists(storage.loadFile(filename)));
+    }
+
+    @Test
+    void legacyFilesAreRehashedIntoTheStore() throws Exception {
+        byte[] content = png("legacy");
+        Files.write(uploadDir.resolve("3f1c-legacy.png"), content);
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        assertEquals(1, storage.migrateLegacyFiles());
+
+        verify(itemRepository).renameImage("3f1c-legacy.png", hash + ".png");
+        assertFalse(Files.exists(uploadDir.resolve("3f1c-legacy.png")));
+        assertArrayEquals(content, Files.readAllBytes(storage.loadFile(hash + ".png")));
+    }
+}
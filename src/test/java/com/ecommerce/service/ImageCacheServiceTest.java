@@ -0,0 +1,82 @@
+package com.ecommerce.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImageCacheServiceTest {
+
+    private static final int IMAGE_BYTES = 1024;
+
+    @TempDir
+    Path dir;
+
+    private ImageCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ImageCacheService();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 8L * IMAGE_BYTES);
+        ReflectionTestUtils.setField(cache, "maxEntryBytes", 2L * IMAGE_BYTES);
+        cache.init();
+    }
+
+    private Path image(String name) throws IOException {
+        return Files.write(dir.resolve(name), new byte[IMAGE_BYTES]);
+    }
+
+    // What FileController does per request: serve from the cache, or offer the file to it
+    private ByteBuffer request(String name) throws IOException {
+        String key = ImageCacheService.key(name, null);
+        ByteBuffer cached = cache.get(key);
+        return cached != null ? cached : cache.admit(key, image(name), IMAGE_BYTES);
+    }
+
+    @Test
+    void imagesAreLoadedFromTheirSecondRequest() throws IOException {
+        assertNull(request("a.jpg"));
+        assertNotNull(request("a.jpg"));
+        assertEquals(IMAGE_BYTES, cache.get(ImageCacheService.key("a.jpg", null)).remaining());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    void newlyHotImagesDisplaceColdOnesInAFullCache() throws IOException {
+        for (int i = 0; i < 16; i++) {
+            request("old-" + i + ".jpg");
+            request("old-" + i + ".jpg");
+        }
+        for (int i = 0; i < 10; i++) {
+            request("hot.jpg");
+        }
+
+        assertNotNull(cache.get(ImageCacheService.key("hot.jpg", null)));
+    }
+
+    @Test
+    void invalidationDropsEveryVariant() throws IOException {
+        Path original = image("b.jpg");
+        for (String variant : new String[]{null, "w200"}) {
+            String key = ImageCacheService.key("b.jpg", variant);
+            cache.get(key);
+            cache.get(key);
+            assertNotNull(cache.admit(key, original, IMAGE_BYTES));
+        }
+
+        cache.invalidate("b.jpg");
+
+        assertNull(cache.get(ImageCacheService.key("b.jpg", null)));
+        assertNull(cache.get(ImageCacheService.key("b.jpg", "w200")));
+    }
+}
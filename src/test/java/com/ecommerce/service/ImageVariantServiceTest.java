@@ -0,0 +1,144 @@
+package com.ecommerce.service;
+
+import com.ecommerce.repository.ItemRepository;
+import com.ecommerce.repository.PendingUploadRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+    private ImageVariantService variants;
+
+    @BeforeEach
+    void setUp() {
+        ImageCacheService imageCache = new ImageCacheService();
+        ReflectionTestUtils.setField(imageCache, "enabled", false);
+        ReflectionTestUtils.setField(imageCache, "maxBytes", 1L << 20);
+        imageCache.init();
+        fileStorageService = new FileStorageService(mock(ItemRepository.class),
+                mock(PendingUploadRepository.class), imageCache);
+        ReflectionTestUtils.setField(fileStorageService, "uploadDir", uploadDir.toString());
+
+        variants = new ImageVariantService(fileStorageService);
+        ReflectionTestUtils.setField(variants, "workers", 1);
+        ReflectionTestUtils.setField(variants, "queueCapacity", 10);
+        variants.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        variants.stop();
+    }
+
+    private String store(int width, int height) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", png);
+        return fileStorageService.storeStream(new ByteArrayInputStream(png.toByteArray()), "photo.png");
+    }
+
+    private String storeTruncated(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x % height, 0xff8800 + x);
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        // The header and dimensions survive, the pixel data does not
+        byte[] truncated = Arrays.copyOf(png.toByteArray(), png.size() / 2);
+        return fileStorageService.storeStream(new ByteArrayInputStream(truncated), "photo.png");
+    }
+
+    private Path variantFile(String filename, String variant) {
+        return fileStorageService.loadVariant(filename, variant, "png");
+    }
+
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void missingVariantIsQueuedAndTheOriginalServedMeanwhile() throws Exception {
+        String filename = store(800, 600);
+
+        assertEquals(Optional.empty(), variants.resolveVariant(filename, "thumb"));
+        assertFalse(variants.isOriginalOnly(filename, "thumb"));
+
+        awaitUntil(() -> Files.exists(variantFile(filename, "thumb")));
+        Optional<Path> thumb = variants.resolveVariant(filename, "thumb");
+        assertTrue(thumb.isPresent());
+        assertEquals(200, ImageIO.read(thumb.get().toFile()).getWidth());
+    }
+
+    @Test
+    void imagesAlreadyWithinTheVariantSizeAreNotReencoded() throws Exception {
+        String filename = store(300, 200);
+
+        variants.resolveVariant(filename, "card");
+        awaitUntil(() -> variants.isOriginalOnly(filename, "card"));
+
+        assertTrue(variants.isOriginalOnly(filename, "card"));
+        assertFalse(Files.exists(variantFile(filename, "card")));
+    }
+
+    @Test
+    void anImageThatFailsToDecodeIsNotDecodedAgainOnLaterRequests() throws Exception {
+        String filename = storeTruncated(800, 600);
+
+        variants.resolveVariant(filename, "thumb");
+        awaitUntil(() -> variants.isOriginalOnly(filename, "thumb"));
+
+        assertTrue(variants.isOriginalOnly(filename, "thumb"));
+        assertEquals(Optional.empty(), variants.resolveVariant(filename, "thumb"));
+        assertFalse(Files.exists(variantFile(filename, "thumb")));
+    }
+
+    @Test
+    void variantsOfAnItemsImageWaitForTheCommit() throws Exception {
+        String filename = store(800, 600);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            variants.generateAllAsync(filename);
+            Thread.sleep(200);
+            assertFalse(Files.exists(variantFile(filename, "thumb")));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        awaitUntil(() -> Files.exists(variantFile(filename, "thumb")) && Files.exists(variantFile(filename, "card"))
+                && variants.isOriginalOnly(filename, "detail"));
+        assertTrue(Files.exists(variantFile(filename, "thumb")));
+        assertTrue(Files.exists(variantFile(filename, "card")));
+        assertFalse(Files.exists(variantFile(filename, "detail")));
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.service;
+
+import com.ecommerce.exception.MailQueueFullException;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailDispatchServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailDispatchService dispatcher;
+
+    private MailDispatchService startDispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+
+        MailDispatchService service = new MailDispatchService(mailSender, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "queueCapacity", 100);
+        ReflectionTestUtils.setField(service, "workers", 2);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "idleTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "initialBackoffMs", 10L);
+        ReflectionTestUtils.setField(service, "maxBackoffMs", 50L);
+        ReflectionTestUtils.setField(service, "deadLetterCapacity", 10);
+        service.start();
+        return service;
+    }
+
+    private MimeMessage message(JavaMailSenderImpl sender, String to) throws Exception {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom("noreply@shopverse.test");
+        helper.setTo(to);
+        helper.setSubject("OTP for Verification");
+        helper.setText("Your OTP for verification is: 123456");
+        return message;
+    }
+
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void deliversQueuedMessagesOverReusedConnections() throws Exception {
+        dispatcher = startDispatcher(ServerSetupTest.SMTP.getPort());
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+
+        for (int i = 0; i < 25; i++) {
+            dispatcher.enqueue(message(sender, "user" + i + "@shopverse.test"), "user" + i, "OTP");
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 25));
+        awaitUntil(() -> dispatcher.getStats().getSent() == 25);
+        assertEquals(25, greenMail.getReceivedMessages().length);
+        assertEquals(25, dispatcher.getStats().getSent());
+        assertEquals(0, dispatcher.getStats().getDeadLettered());
+        // At most one connection per worker for all 25 messages
+        long opened = dispatcher.getStats().getConnectionsOpened();
+        assertTrue(opened >= 1 && opened <= 2, "connections opened: " + opened);
+    }
+
+    @Test
+    void aFullQueueRefusesNewMailWithADomainException() throws Exception {
+        dispatcher = startDispatcher(ServerSetupTest.SMTP.getPort());
+        // No workers left to drain the queue
+        dispatcher.stop();
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        for (int i = 0; i < 100; i++) {
+            dispatcher.enqueue(message(sender, "user" + i + "@shopverse.test"), "user" + i, "OTP");
+        }
+
+        MimeMessage overflow = message(sender, "late@shopverse.test");
+        MailQueueFullException e = assertThrows(MailQueueFullException.class,
+                () -> dispatcher.enqueue(overflow, "late@shopverse.test", "OTP"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        assertEquals(1, dispatcher.getStats().getRejected());
+    }
+
+    @Test
+    void deadLettersAfterRetriesAreExhausted() throws Exception {
+        // Nothing listens on this port, so every attempt fails to connect
+        dispatcher = startDispatcher(ServerSetupTest.SMTP.getPort() + 1);
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+
+        dispatcher.enqueue(message(sender, "user@shopverse.test"), "user@shopverse.test", "OTP");
+
+        awaitUntil(() -> dispatcher.getStats().getDeadLettered() == 1);
+
+        assertEquals(1, dispatcher.getStats().getDeadLettered());
+        assertEquals(3, dispatcher.getStats().getFailedAttempts());
+        assertEquals(2, dispatcher.getStats().getRetried());
+        assertEquals("user@shopverse.test", dispatcher.getDeadLetters().get(0).to());
+    }
+
+    @Test
+    void aMessageThatThrowsDoesNotTakeItsWorkerDown() throws Exception {
+        dispatcher = startDispatcher(ServerSetupTest.SMTP.getPort());
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+
+        for (int i = 0; i < 4; i++) {
+            MimeMessage broken = new MimeMessage((Session) null) {
+                @Override
+                public void saveChanges() {
+                    throw new IllegalStateException("Broken message");
+                }
+            };
+            dispatcher.enqueue(broken, "broken" + i + "@shopverse.test", "OTP");
+        }
+        for (int i = 0; i < 5; i++) {
+            dispatcher.enqueue(message(sender, "user" + i + "@shopverse.test"), "user" + i, "OTP");
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 5));
+        awaitUntil(() -> dispatcher.getStats().getDeadLettered() == 4);
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        assertEquals(4, dispatcher.getStats().getDeadLettered());
+    }
+
+    @Test
+    void stoppingDeadLettersMessagesThatCanNoLongerBeRetried() throws Exception {
+        dispatcher = startDispatcher(ServerSetupTest.SMTP.getPort() + 1);
+        // Retries would only be due long after the dispatcher has stopped
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 60000L);
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+
+        dispatcher.enqueue(message(sender, "first@shopverse.test"), "first@shopverse.test", "OTP");
+        awaitUntil(() -> dispatcher.getStats().getRetried() == 1);
+        for (int i = 0; i < 5; i++) {
+            dispatcher.enqueue(message(sender, "user" + i + "@shopverse.test"), "user" + i, "OTP");
+        }
+        dispatcher.stop();
+
+        assertEquals(6, dispatcher.getStats().getDeadLettered());
+        assertEquals(0, dispatcher.getQueueDepth());
+        dispatcher = null;
+    }
+}
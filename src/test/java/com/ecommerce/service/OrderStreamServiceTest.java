@@ -0,0 +1,223 @@
+package com.ecommerce.service;
+
+import com.ecommerce.controller.OrderController;
+import com.ecommerce.dto.OrderStatusUpdate;
+import com.ecommerce.exception.TooManyStreamsException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class OrderStreamServiceTest {
+
+    /**
+     * A client connection as non-blocking I/O sees it: writes are accepted while
+     * the client keeps reading, and the listener is called once it reads again.
+     */
+    private static final class Client extends HttpServletResponseWrapper {
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/stream");
+        volatile boolean reading = true;
+        WriteListener listener;
+
+        Client() {
+            super(new MockHttpServletResponse());
+            request.setAsyncSupported(true);
+        }
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return reading;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                listener = writeListener;
+                if (reading) {
+                    try {
+                        writeListener.onWritePossible();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+
+            @Override
+            public void write(int b) {
+                if (!reading) {
+                    throw new IllegalStateException("Written while not ready");
+                }
+                received.write(b);
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+
+        void resume() throws Exception {
+            reading = true;
+            listener.onWritePossible();
+        }
+
+        String body() {
+            return received.toString(StandardCharsets.UTF_8);
+        }
+
+        boolean completed() {
+            return request.getAsyncContext() != null && !request.isAsyncStarted();
+        }
+    }
+
+    private OrderStreamService streams;
+    private OrderController controller;
+
+    @BeforeEach
+    void setUp() {
+        streams = new OrderStreamService(Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(streams, "maxConnections", 3);
+        ReflectionTestUtils.setField(streams, "maxPerUser", 2);
+        ReflectionTestUtils.setField(streams, "bufferSize", 4);
+        ReflectionTestUtils.setField(streams, "heartbeatMs", 60000L);
+        ReflectionTestUtils.setField(streams, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(streams, "retryMs", 2000L);
+        ReflectionTestUtils.setField(streams, "replayMs", 60000L);
+        streams.start();
+        controller = new OrderController(mock(OrderService.class), streams);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.stop();
+    }
+
+    private Client open(String email, String lastEventId) throws Exception {
+        Client client = new Client();
+        controller.streamOrderStatus(new UsernamePasswordAuthenticationToken(email, null), lastEventId,
+                client.request, client);
+        assertTrue(client.request.isAsyncStarted());
+        assertEquals("no", client.getHeader("X-Accel-Buffering"));
+        return client;
+    }
+
+    private Client open(String email) throws Exception {
+        return open(email, null);
+    }
+
+    private void publish(String email, long orderId) {
+        streams.onOrderStatus(new OrderStreamService.OrderStatusEvent(email, new OrderStatusUpdate(orderId,
+                UUID.randomUUID(), "Desk lamp", new BigDecimal("1299.00"), "COMPLETED", LocalDateTime.now())));
+    }
+
+    private static String lastEventId(Client client) {
+        String body = client.body();
+        int start = body.lastIndexOf("id: ") + 4;
+        return body.substring(start, body.indexOf('\n', start));
+    }
+
+    @Test
+    void eventsReachOnlyTheOwnersStreams() throws Exception {
+        Client alice = open("alice@shopverse.test");
+        Client bob = open("bob@shopverse.test");
+        assertTrue(alice.body().startsWith("retry: 2000\n:connected\n\n"));
+
+        publish("alice@shopverse.test", 101L);
+
+        assertTrue(alice.body().contains("event: order-status\ndata: {\"orderId\":101"));
+        assertFalse(bob.body().contains("order-status"));
+    }
+
+    @Test
+    void newestStreamsReplaceTheOldestPastThePerUserLimit() throws Exception {
+        Client first = open("alice@shopverse.test");
+        Client second = open("alice@shopverse.test");
+        Client third = open("alice@shopverse.test");
+        assertEquals(2, streams.getConnections());
+        assertTrue(first.completed());
+
+        publish("alice@shopverse.test", 7L);
+
+        assertTrue(second.body().contains("\"orderId\":7"));
+        assertTrue(third.body().contains("\"orderId\":7"));
+        assertFalse(first.body().contains("order-status"));
+    }
+
+    @Test
+    void aClientThatStopsReadingHoldsNothingUpAndIsDroppedOnceItsBufferIsFull() throws Exception {
+        Client slow = open("alice@shopverse.test");
+        Client other = open("bob@shopverse.test");
+        slow.reading = false;
+
+        for (long orderId = 1; orderId <= 4; orderId++) {
+            publish("alice@shopverse.test", orderId);
+            publish("bob@shopverse.test", orderId);
+        }
+        assertEquals(4, other.body().split("event: order-status").length - 1);
+        assertFalse(slow.completed());
+
+        // Catches up once it reads again
+        slow.resume();
+        assertTrue(slow.body().contains("\"orderId\":4"));
+
+        slow.reading = false;
+        for (long orderId = 5; orderId <= 10; orderId++) {
+            publish("alice@shopverse.test", orderId);
+        }
+        assertTrue(slow.completed());
+        assertEquals(1, streams.getOverflowed());
+        assertEquals(1, streams.getConnections());
+    }
+
+    @Test
+    void reconnectingWithLastEventIdReplaysMissedEvents() throws Exception {
+        Client first = open("alice@shopverse.test");
+        publish("alice@shopverse.test", 1L);
+        String seen = lastEventId(first);
+        first.reading = false;
+        publish("alice@shopverse.test", 2L);
+        publish("alice@shopverse.test", 3L);
+
+        Client reconnected = open("alice@shopverse.test", seen);
+        String body = reconnected.body();
+        assertFalse(body.contains("\"orderId\":1"));
+        assertTrue(body.indexOf("\"orderId\":2") < body.indexOf("\"orderId\":3"));
+        assertTrue(body.indexOf("\"orderId\":2") > 0);
+
+        // Without an id there is nothing to replay
+        assertFalse(open("alice@shopverse.test").body().contains("order-status"));
+    }
+
+    @Test
+    void streamsPastTheGlobalLimitAreRefused() throws Exception {
+        open("a@shopverse.test");
+        open("b@shopverse.test");
+        open("c@shopverse.test");
+
+        assertThrows(TooManyStreamsException.class, () -> open("d@shopverse.test"));
+        assertEquals(3, streams.getConnections());
+        assertEquals(1, streams.getRejected());
+    }
+}
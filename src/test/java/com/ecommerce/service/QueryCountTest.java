@@ -0,0 +1,98 @@
+package com.ecommerce.service;
+
+import com.ecommerce.model.Review;
+import com.ecommerce.model.User;
+import com.ecommerce.repository.ReviewRepository;
+import com.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.support.StatementCount.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_counts;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ReviewService.class, ResponseCacheService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryCountTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reviewsForAnItemTakeOneStatement() {
+        UUID itemId = UUID.randomUUID();
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Review review = new Review();
+            review.setItemId(itemId);
+            review.setRating(4);
+            review.setAddedBy("user" + i + "@shop.test");
+            reviews.add(review);
+        }
+        reviewRepository.saveAll(reviews);
+
+        List<Review> loaded = assertStatements(1, () -> reviewService.getReviewsByItemId(itemId));
+        assertEquals(60, loaded.size());
+    }
+
+    @Test
+    void repeatedUserLookupIsServedFromCache() {
+        User user = new User();
+        user.setUsername("cached");
+        user.setUseremail("cached@shop.test");
+        user.setPassword("hash");
+        userRepository.save(user);
+
+        userRepository.findByUseremail("cached@shop.test");
+        assertStatements(0, () -> assertTrue(userRepository.findByUseremail("cached@shop.test").isPresent()));
+    }
+
+    @Test
+    void credentialLookupReadsPastAStaleCacheAndRefreshesIt() {
+        User user = new User();
+        user.setUsername("stale");
+        user.setUseremail("stale@shop.test");
+        user.setPassword("old-hash");
+        userRepository.save(user);
+        userRepository.findByUseremail("stale@shop.test");
+
+        // As if another node had reset the password
+        jdbcTemplate.update("UPDATE users SET password = 'new-hash' WHERE useremail = 'stale@shop.test'");
+        assertEquals("old-hash", userRepository.findByUseremail("stale@shop.test").orElseThrow().getPassword());
+
+        assertEquals("new-hash", userRepository.findByUseremailFromDatabase("stale@shop.test").orElseThrow().getPassword());
+        assertEquals("new-hash", userRepository.findByUseremail("stale@shop.test").orElseThrow().getPassword());
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.ReadWriteRoutingDataSource;
+import com.ecommerce.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResponseCacheService cache;
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCacheService(objectMapper);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1L << 20);
+        ReflectionTestUtils.setField(cache, "gzipMinBytes", 1024);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(cache, "primaryAfterInvalidateMs", 5000L);
+        cache.start();
+    }
+
+    private ApiResponse items(int count) {
+        renders.incrementAndGet();
+        return new ApiResponse(true, "Items fetched successfully",
+                IntStream.range(0, count).mapToObj(i -> "item-" + i).toList());
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/all");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    @Test
+    void repeatRequestsAreServedWithoutRendering() throws Exception {
+        ResponseEntity<byte[]> first = cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(3));
+        ResponseEntity<byte[]> second = cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(3));
+
+        assertEquals(1, renders.get());
+        assertArrayEquals(first.getBody(), second.getBody());
+        assertArrayEquals(objectMapper.writeValueAsBytes(items(3)), second.getBody());
+        assertNull(second.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    void largeBodiesAreGzippedForClientsThatAcceptIt() throws Exception {
+        byte[] identity = cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(500)).getBody();
+        ResponseEntity<byte[]> gzipped = cache.respond(ResponseCacheService.ITEMS, "all",
+                request("br, gzip;q=0.8"), () -> items(500));
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), gzipped.getHeaders().getVary());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(identity, in.readAllBytes());
+        }
+
+        ResponseEntity<byte[]> refused = cache.respond(ResponseCacheService.ITEMS, "all",
+                request("gzip;q=0"), () -> items(500));
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void invalidationDropsOnlyItsNamespace() {
+        cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(3));
+        cache.respond(ResponseCacheService.REVIEWS, "item:1", request(null), () -> items(2));
+
+        cache.invalidate(ResponseCacheService.ITEMS);
+        cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(4));
+        cache.respond(ResponseCacheService.REVIEWS, "item:1", request(null), () -> items(2));
+
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    void responseRenderedAcrossAnInvalidationIsNotCached() {
+        cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> {
+            // A write commits while this (now stale) response is being rendered
+            cache.invalidate(ResponseCacheService.ITEMS);
+            return items(3);
+        });
+        cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(4));
+        cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(4));
+
+        // The stale render was dropped; the fresh one is cached
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlMs", 50L);
+        cache.start();
+
+        cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(3));
+        Thread.sleep(100);
+        cache.respond(ResponseCacheService.ITEMS, "all", request(null), () -> items(3));
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void reRendersRightAfterAnInvalidationReadFromThePrimary() {
+        var routing = new ReadWriteRoutingDataSource(0) {
+            Object route() {
+                return determineCurrentLookupKey();
+            }
+        };
+        routing.setReplicaInSync(true);
+        List<Object> routes = new ArrayList<>();
+        Supplier<ApiResponse> render = () -> {
+            routes.add(routing.route());
+            return items(3);
+        };
+
+        // As inside the read-only transaction of the service call being rendered
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            cache.respond(ResponseCacheService.ITEMS, "all", request(null), render);
+            cache.invalidate(ResponseCacheService.ITEMS);
+            cache.respond(ResponseCacheService.ITEMS, "all", request(null), render);
+
+            ReflectionTestUtils.setField(cache, "primaryAfterInvalidateMs", 0L);
+            cache.invalidate(ResponseCacheService.ITEMS);
+            cache.respond(ResponseCacheService.ITEMS, "all", request(null), render);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        assertEquals(List.of(ReadWriteRoutingDataSource.Route.REPLICA, ReadWriteRoutingDataSource.Route.PRIMARY,
+                ReadWriteRoutingDataSource.Route.REPLICA), routes);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.support;
+
+import com.ecommerce.config.QueryInspector;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the SQL statements Hibernate issues on the calling thread during a call.
+ * Works in any context that loads application.properties, which registers QueryInspector.
+ */
+public final class StatementCount {
+
+    private StatementCount() {
+    }
+
+    public static List<String> capture(Runnable call) {
+        try (QueryInspector.Scope scope = QueryInspector.open()) {
+            call.run();
+            return scope.getStatements();
+        }
+    }
+
+    public static <T> T assertStatements(int expected, Supplier<T> call) {
+        try (QueryInspector.Scope scope = QueryInspector.open()) {
+            T result = call.get();
+            assertEquals(expected, scope.getCount(),
+                    () -> "Unexpected number of statements:\n" + String.join("\n", scope.getStatements()));
+            return result;
+        }
+    }
+
+    public static void assertStatements(int expected, Runnable call) {
+        assertStatements(expected, () -> {
+            call.run();
+            return null;
+        });
+    }
+}